@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Runs the benchmarks with the GC profiler, so that every result reports its allocation rate.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks; any standard JMH command-line options are passed through.
+     *
+     * @param args the JMH command-line options
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
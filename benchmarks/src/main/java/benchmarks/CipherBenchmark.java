@@ -0,0 +1,53 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Measures Part2a.encrypt and Part2b.decrypt for messages of different lengths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CipherBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    public int messageLength;
+
+    private String plaintext;
+    private String ciphertext;
+
+    @Setup
+    public void setUp() throws Throwable {
+        plaintext = Messages.plaintext(messageLength);
+        ciphertext = Messages.ciphertext(messageLength);
+    }
+
+    @Benchmark
+    public String encrypt() throws Throwable {
+        return (String) Targets.ENCRYPT.invokeExact(plaintext, Messages.KEY);
+    }
+
+    @Benchmark
+    public String decrypt() throws Throwable {
+        return (String) Targets.DECRYPT.invokeExact(ciphertext, Messages.KEY);
+    }
+}
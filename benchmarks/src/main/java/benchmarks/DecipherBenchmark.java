@@ -0,0 +1,62 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Measures a full Part1.decipher crack with each solver. Each crack takes long enough that every
+ *          invocation is timed on its own. The same message is cracked every time, so the shared crack cache is
+ *          cleared before each invocation; otherwise every crack after the first would only be a cache lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DecipherBenchmark {
+
+    @Param({"64", "256"})
+    public int messageLength;
+
+    @Param({"BRUTE_FORCE", "HILL_CLIMBING"})
+    public String solverName;
+
+    private String ciphertext;
+    private Object solver;
+
+    @Setup
+    public void setUp() throws Throwable {
+        ciphertext = Messages.ciphertext(messageLength);
+        solver = Targets.solver(solverName);
+
+        // load the shared dictionary outside of the measurement
+        Targets.dictionaryTrie();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() throws Throwable {
+        Targets.clearCrackCache();
+    }
+
+    @Benchmark
+    public String[] decipher() throws Throwable {
+        return (String[]) Targets.DECIPHER.invokeExact(ciphertext, solver);
+    }
+}
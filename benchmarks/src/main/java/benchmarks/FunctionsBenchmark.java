@@ -0,0 +1,88 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Measures the helper functions on the cracking hot path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionsBenchmark {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"64", "1024"})
+    public int messageLength;
+
+    // the plaintext without spaces, as it is passed to formSentence during a crack
+    private String decodedString;
+    // the ciphertext without spaces, as it is passed to getKeyByFrequency during a crack
+    private String trimmedCiphertext;
+    private Set<String> dictionaryWords;
+    private Object dictionaryTrie;
+    private Object dictionaryAutomaton;
+    // the plaintext letters, as they are scored by word coverage during a crack
+    private char[] decodedLetters;
+
+    @Setup
+    public void setUp() throws Throwable {
+        decodedString = Messages.plaintext(messageLength).replace(" ", "");
+        trimmedCiphertext = Messages.ciphertext(messageLength).replace(" ", "");
+        dictionaryWords = Targets.dictionaryWords();
+        dictionaryTrie = Targets.dictionaryTrie();
+        dictionaryAutomaton = Targets.dictionaryAutomaton();
+        decodedLetters = decodedString.toCharArray();
+    }
+
+    @Benchmark
+    public ArrayList<?> formSentence() throws Throwable {
+        return (ArrayList<?>) Targets.FORM_SENTENCE.invokeExact(decodedString, dictionaryWords);
+    }
+
+    @Benchmark
+    public ArrayList<?> formSentenceTrie() throws Throwable {
+        return (ArrayList<?>) Targets.FORM_SENTENCE_TRIE.invokeExact(decodedString, dictionaryTrie);
+    }
+
+    @Benchmark
+    public double wordCoverage() throws Throwable {
+        return (double) Targets.COVERAGE.invokeExact(dictionaryAutomaton, decodedLetters, 3);
+    }
+
+    @Benchmark
+    public ArrayList<?> getKeyByFrequency() throws Throwable {
+        return (ArrayList<?>) Targets.GET_KEY_BY_FREQUENCY.invokeExact("letter_frequencies.txt", ALPHABET,
+                trimmedCiphertext, 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Set<?> readWordsFromDictionary() throws Throwable {
+        return (Set<?>) Targets.READ_WORDS.invokeExact("dictionary.txt");
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Builds repeatable benchmark messages out of dictionary words.
+ */
+final class Messages {
+
+    // the key used to encrypt every benchmark message
+    static final String KEY = "mnbvcxzlkjhgfdsapoiuytrewq";
+
+    private Messages() {
+    }
+
+    /**
+     * Returns a plaintext message of words separated by spaces, with exactly the given number of letters. The
+     * same length always produces the same message.
+     *
+     * @param numOfLetters the number of letters in the message
+     * @return the plaintext message
+     */
+    static String plaintext(int numOfLetters) throws IOException {
+        List<String> words = Files.readAllLines(Path.of("common_words.txt"));
+        List<String> dictionary = Files.readAllLines(Path.of("dictionary.txt"));
+        Random random = new Random(numOfLetters);
+        StringBuilder message = new StringBuilder();
+        int letters = 0;
+
+        while (letters < numOfLetters) {
+            // mostly common words, with the occasional dictionary word
+            String word = random.nextInt(4) == 0
+                    ? dictionary.get(random.nextInt(dictionary.size()))
+                    : words.get(random.nextInt(words.size()));
+            word = word.substring(0, Math.min(word.length(), numOfLetters - letters));
+
+            if (message.length() > 0)
+                message.append(' ');
+
+            message.append(word);
+            letters += word.length();
+        }
+
+        return message.toString();
+    }
+
+    /**
+     * Returns the plaintext message of the given length encrypted with KEY, in 5-letter groups.
+     *
+     * @param numOfLetters the number of letters in the message
+     * @return the encrypted message
+     */
+    static String ciphertext(int numOfLetters) throws Throwable {
+        return (String) Targets.ENCRYPT.invokeExact(plaintext(numOfLetters), KEY);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Measures the scalar and SIMD substitution kernels on buffers of ASCII text, the way StreamCipher
+ *          decrypts large files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SubstitutionBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    @Param({"1024", "65536"})
+    public int bufferLength;
+
+    private Object kernel;
+    private byte[] table;
+    private byte[] src;
+    private byte[] dst;
+
+    @Setup
+    public void setUp() throws Throwable {
+        kernel = Targets.SELECT_KERNEL.invokeExact(kernelName);
+        table = new byte[Messages.KEY.length()];
+
+        // the decryption table of the benchmark key
+        for (int plain = 0; plain < table.length; ++plain)
+            table[Messages.KEY.charAt(plain) - 'a'] = (byte) plain;
+
+        // repeat the grouped ciphertext until the buffer is full, spaces included
+        byte[] ciphertext = Messages.ciphertext(bufferLength).getBytes(StandardCharsets.US_ASCII);
+        src = new byte[bufferLength];
+        dst = new byte[bufferLength];
+
+        for (int i = 0; i < bufferLength; ++i)
+            src[i] = ciphertext[i % ciphertext.length];
+    }
+
+    @Benchmark
+    public byte[] transform() throws Throwable {
+        Targets.TRANSFORM.invokeExact(kernel, table, src, 0, dst, 0, bufferLength);
+        return dst;
+    }
+}
@@ -0,0 +1,134 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Method handles to the application's methods. The application lives in the default package, which
+ *          classes in a named package (as JMH requires for benchmarks) cannot import; static final handles are
+ *          inlined by the JIT, so calling through them costs the same as a direct call.
+ */
+final class Targets {
+
+    static final MethodHandle ENCRYPT = find("Part2a", "encrypt",
+            MethodType.methodType(String.class, String.class, String.class));
+
+    static final MethodHandle DECRYPT = find("Part2b", "decrypt",
+            MethodType.methodType(String.class, String.class, String.class));
+
+    static final MethodHandle DECIPHER = find("Part1", "decipher",
+            MethodType.methodType(String[].class, String.class, type("Solver")))
+            .asType(MethodType.methodType(String[].class, String.class, Object.class));
+
+    static final MethodHandle FORM_SENTENCE = find("Functions", "formSentence",
+            MethodType.methodType(ArrayList.class, String.class, Set.class));
+
+    static final MethodHandle FORM_SENTENCE_TRIE = find("Functions", "formSentence",
+            MethodType.methodType(ArrayList.class, String.class, type("WordTrie")))
+            .asType(MethodType.methodType(ArrayList.class, String.class, Object.class));
+
+    static final MethodHandle COVERAGE = findVirtual("WordAutomaton", "coverage",
+            MethodType.methodType(double.class, char[].class, int.class))
+            .asType(MethodType.methodType(double.class, Object.class, char[].class, int.class));
+
+    static final MethodHandle READ_WORDS = find("Functions", "readWordsFromDictionary",
+            MethodType.methodType(Set.class, String.class));
+
+    static final MethodHandle GET_KEY_BY_FREQUENCY = find("Functions", "getKeyByFrequency",
+            MethodType.methodType(ArrayList.class, String.class, String.class, String.class, int.class));
+
+    static final MethodHandle SELECT_KERNEL = find("SubstitutionKernel", "select",
+            MethodType.methodType(type("SubstitutionKernel"), String.class))
+            .asType(MethodType.methodType(Object.class, String.class));
+
+    static final MethodHandle TRANSFORM = findVirtual("SubstitutionKernel", "transform",
+            MethodType.methodType(void.class, byte[].class, byte[].class, int.class, byte[].class, int.class,
+                    int.class))
+            .asType(MethodType.methodType(void.class, Object.class, byte[].class, byte[].class, int.class,
+                    byte[].class, int.class, int.class));
+
+    private Targets() {
+    }
+
+    /**
+     * Returns the shared dictionary's words.
+     *
+     * @return the dictionary words
+     */
+    @SuppressWarnings("unchecked")
+    static Set<String> dictionaryWords() throws Throwable {
+        return (Set<String>) dictionary().getClass().getMethod("getWords").invoke(dictionary());
+    }
+
+    /**
+     * Returns the shared dictionary's prefix tree.
+     *
+     * @return the dictionary trie, typed as Object since its class is in the default package
+     */
+    static Object dictionaryTrie() throws Throwable {
+        return dictionary().getClass().getMethod("getTrie").invoke(dictionary());
+    }
+
+    /**
+     * Returns the shared dictionary's Aho-Corasick automaton.
+     *
+     * @return the word automaton, typed as Object since its class is in the default package
+     */
+    static Object dictionaryAutomaton() throws Throwable {
+        return dictionary().getClass().getMethod("getAutomaton").invoke(dictionary());
+    }
+
+    /**
+     * Forgets every message in the shared crack cache, so that the next crack searches again.
+     */
+    static void clearCrackCache() throws Throwable {
+        Object cache = type("CrackCache").getMethod("getInstance").invoke(null);
+        cache.getClass().getMethod("clear").invoke(cache);
+    }
+
+    /**
+     * Returns the constant of the application's Solver enum with the given name.
+     *
+     * @param name the name of the solver
+     * @return the solver, typed as Object since its class is in the default package
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object solver(String name) {
+        return Enum.valueOf((Class) type("Solver"), name);
+    }
+
+    private static Object dictionary() throws Throwable {
+        return type("Dictionary").getMethod("getInstance").invoke(null);
+    }
+
+    private static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Application class not found: " + name, e);
+        }
+    }
+
+    private static MethodHandle find(String className, String methodName, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findStatic(type(className), methodName, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Application method not found: " + className + "." + methodName, e);
+        }
+    }
+
+    private static MethodHandle findVirtual(String className, String methodName, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(type(className), methodName, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Application method not found: " + className + "." + methodName, e);
+        }
+    }
+}
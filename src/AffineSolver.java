@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: The first, cheap tier of cracking: scores every affine key (each letter x encrypted as a * x + b),
+ *          which includes the 26 rotational shifts, against the message's letter counts alone. Only the few keys
+ *          which fit the language best are used to decode the message, and the result is only accepted if it
+ *          reads as dictionary words; every other message goes on to the expensive searches.
+ */
+public class AffineSolver {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the multipliers with an inverse modulo 26, which are the only ones that give a one-to-one key
+    private static final int[] MULTIPLIERS = {1, 3, 5, 7, 9, 11, 15, 17, 19, 21, 23, 25};
+    // the number of keys, by chi-squared, used to decode the message
+    private static final int NUM_OF_CANDIDATES = 5;
+    /*
+        The average word length at which a decoded message is accepted, raised by SHORT_MESSAGE_LETTERS spread over
+        the letters of the message, since short messages form dictionary words by chance far more often
+     */
+    private static final double CONFIDENT_WORD_LENGTH = 2.5;
+    private static final double SHORT_MESSAGE_LETTERS = 10;
+
+    // the language the messages were written in, and its letter frequencies
+    private final LanguageProfile language;
+    private final FrequencyAnalyzer.Profile profile;
+
+    /**
+     * Creates a solver for English messages.
+     */
+    public AffineSolver() throws IOException {
+        this(LanguageProfile.getDefault());
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param language the language the messages were written in
+     */
+    public AffineSolver(LanguageProfile language) throws IOException {
+        this.language = language;
+        this.profile = language.getLetterProfile();
+    }
+
+    /**
+     * Deciphers an encrypted message if it was encrypted with an affine key, and returns the result in the same
+     * form as Part1.decipher.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @return the decoded message and its key, or an empty array if no affine key decodes it confidently
+     */
+    public String[] decipher(String encodedMessage) throws IOException {
+        char[] letters = Part1.lettersOf(encodedMessage);
+
+        if (letters.length == 0)
+            return new String[0];
+
+        // the letter counts are all that is needed to score every key
+        int[] counts = new int[ALPHABET_SIZE];
+
+        for (char letter : letters)
+            ++counts[letter - 'a'];
+
+        // the best keys so far (as multiplier * 26 + shift) and their statistics, from best to worst
+        int[] candidates = new int[NUM_OF_CANDIDATES];
+        double[] statistics = new double[NUM_OF_CANDIDATES];
+        Arrays.fill(statistics, Double.POSITIVE_INFINITY);
+
+        for (int multiplier : MULTIPLIERS) {
+            for (int shift = 0; shift < ALPHABET_SIZE; ++shift) {
+                double statistic = chiSquared(counts, letters.length, multiplier, shift);
+                int i = NUM_OF_CANDIDATES;
+
+                // move the worse keys down a place, dropping the worst one
+                for (; i > 0 && statistic < statistics[i - 1]; --i) {
+                    if (i < NUM_OF_CANDIDATES) {
+                        statistics[i] = statistics[i - 1];
+                        candidates[i] = candidates[i - 1];
+                    }
+                }
+
+                if (i < NUM_OF_CANDIDATES) {
+                    statistics[i] = statistic;
+                    candidates[i] = multiplier * ALPHABET_SIZE + shift;
+                }
+            }
+        }
+
+        WordTrie dictionaryTrie = language.getDictionary().getTrie();
+        double confidentScore = CONFIDENT_WORD_LENGTH + SHORT_MESSAGE_LETTERS / letters.length;
+
+        // decode the message with the best keys only, and accept the first which reads as dictionary words
+        for (int candidate : candidates) {
+            String key = keyOf(candidate / ALPHABET_SIZE, candidate % ALPHABET_SIZE);
+            char[] decodedChars = new char[letters.length];
+            SubstitutionKey.of(key).decrypt(letters, 0, decodedChars, 0, letters.length);
+
+            ArrayList<String> decodedWords = Functions.formSentence(new String(decodedChars), dictionaryTrie);
+
+            if (!decodedWords.isEmpty() && BestMatch.score(decodedWords) >= confidentScore)
+                return new String[] {Functions.getArrayListAsString(decodedWords), key};
+        }
+
+        return new String[0];
+    }
+
+    /**
+     * Returns the chi-squared statistic of the message's letters decoded with an affine key; the lower the value,
+     * the closer the decoded letters are to the language.
+     *
+     * @param counts the number of times each letter (0-25) appears in the message
+     * @param numOfLetters the total number of letters in the message
+     * @param multiplier the multiplier of the key
+     * @param shift the shift of the key
+     * @return the chi-squared statistic
+     */
+    private double chiSquared(int[] counts, int numOfLetters, int multiplier, int shift) {
+        double statistic = 0;
+
+        // each plaintext letter was encrypted into the letter multiplier * plain + shift
+        for (int plain = 0, cipher = shift; plain < ALPHABET_SIZE; ++plain) {
+            double expected = profile.frequency(plain) * numOfLetters;
+            double difference = counts[cipher] - expected;
+
+            statistic += difference * difference / expected;
+            cipher = (cipher + multiplier) % ALPHABET_SIZE;
+        }
+
+        return statistic;
+    }
+
+    /**
+     * Returns an affine key as a modified alphabet key String.
+     *
+     * @param multiplier the multiplier of the key
+     * @param shift the shift of the key
+     * @return the encrypted letter for each plaintext letter
+     */
+    static String keyOf(int multiplier, int shift) {
+        char[] key = new char[ALPHABET_SIZE];
+
+        for (int plain = 0; plain < ALPHABET_SIZE; ++plain)
+            key[plain] = (char) ('a' + (multiplier * plain + shift) % ALPHABET_SIZE);
+
+        return new String(key);
+    }
+}
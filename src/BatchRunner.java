@@ -0,0 +1,266 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Processes many messages from files without the interactive menu, writing one JSON result per line.
+ */
+public class BatchRunner {
+
+    // what to do with every message in the batch
+    private enum Mode { CRACK, ENCRYPT, DECRYPT }
+
+    private final Mode mode;
+    // the key used to encrypt or decrypt, unused when cracking
+    private final String key;
+    // the strategy used to crack each message
+    private final Solver solver;
+    // the number of messages processed at the same time
+    private final int numOfThreads;
+    // where the results are written; shared by every worker
+    private final BufferedWriter out;
+    // the number of messages processed, and how many of them failed
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // the first failure to write a result, after which no more messages are read; null while every write works
+    private volatile IOException writeFailure;
+
+    private BatchRunner(Mode mode, String key, Solver solver, int numOfThreads, BufferedWriter out) {
+        this.mode = mode;
+        this.key = key;
+        this.solver = solver;
+        this.numOfThreads = numOfThreads;
+        this.out = out;
+    }
+
+    /**
+     * Runs a batch from the command line.
+     *
+     * @param args the options and input paths; run without arguments to print the usage
+     */
+    public static void main(String[] args) {
+
+        Mode mode = Mode.CRACK;
+        String key = null;
+        Solver solver = Solver.BRUTE_FORCE;
+        int numOfThreads = Runtime.getRuntime().availableProcessors();
+        Path output = null;
+        List<Path> inputs = new ArrayList<>();
+
+        // read the options; everything that is not an option is an input file or directory
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "--mode" -> mode = Mode.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    case "--key" -> key = args[++i];
+                    case "--solver" -> solver = Solver.valueOf(args[++i].toUpperCase(Locale.ROOT).replace('-', '_'));
+                    case "--threads" -> numOfThreads = Integer.parseInt(args[++i]);
+                    case "--output" -> output = Path.of(args[++i]);
+                    default -> inputs.add(Path.of(args[i]));
+                }
+            }
+
+            if (mode != Mode.CRACK)
+                // validate the key once instead of failing every message
+                SubstitutionKey.of(key == null ? "" : key);
+
+            if (inputs.isEmpty() || numOfThreads < 1)
+                throw new IllegalArgumentException("At least one input and one thread are required.");
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.out.println((e.getMessage() == null ? "" : e.getMessage() + "\n") +
+                    "Usage: Main --batch [--mode crack|encrypt|decrypt] [--key <key>] " +
+                    "[--solver brute-force|hill-climbing|word-pattern|vigenere|coverage] [--threads <n>] " +
+                    "[--output <file>] <files or directories>" +
+                    "\n\tEvery non-empty line of every input file is one message; results are written as JSON lines" +
+                    " to the output file, or to the console if there is none.");
+            return;
+        }
+
+        // handle I/O exceptions
+        try (BufferedWriter out = output == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+
+            // lazy way to estimate total execution time
+            long startTime = System.nanoTime();
+
+            BatchRunner runner = new BatchRunner(mode, key, solver, numOfThreads, out);
+            runner.run(inputs);
+            out.flush();
+
+            // normalize the time given in nanoseconds
+            double endTime = (double) (System.nanoTime() - startTime) / 1_000_000_000;
+
+            System.err.println("Processed " + runner.processed.get() + " messages (" + runner.failed.get() +
+                    " failed) in " + endTime + " seconds");
+
+        } // file could not be found, or is unreadable, or the results could not be written
+        catch (IOException | UncheckedIOException e) {
+            // the console output may be the writer which failed, or already closed with it
+            System.err.println("The batch could not be finished (" + e.getMessage() + "); please check the files " +
+                    "and try again.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Processes every message of every input through a bounded pool of workers.
+     *
+     * @param inputs the files and directories to read messages from
+     */
+    private void run(List<Path> inputs) throws IOException, InterruptedException {
+
+        // set up the shared state once for the whole batch instead of once per message
+        if (mode != Mode.ENCRYPT)
+            Dictionary.getInstance();
+
+        if (mode == Mode.CRACK && solver == Solver.HILL_CLIMBING)
+            NGramTable.getInstance();
+
+        if (mode == Mode.CRACK && solver == Solver.WORD_PATTERN)
+            Dictionary.getInstance().getPatternIndex();
+
+        if (mode == Mode.CRACK && solver == Solver.COVERAGE)
+            Dictionary.getInstance().getAutomaton();
+
+        /*
+            Only a few messages wait in the queue at a time; when it is full, the reading thread processes the
+            next message itself, which stops it from reading ahead of the workers
+         */
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(numOfThreads, numOfThreads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(numOfThreads * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try {
+            for (Path input : inputs) {
+                // walk directories for every regular file inside of them
+                try (Stream<Path> files = Files.walk(input)) {
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator)
+                        submitLines(file, pool);
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        // the batch is not done if any of its results were lost
+        if (writeFailure != null)
+            throw new IOException("the results could not be written: " + writeFailure.getMessage(), writeFailure);
+    }
+
+    /**
+     * Reads a file one line at a time and submits every non-empty line as a message, until a result cannot be
+     * written.
+     *
+     * @param file the file to read
+     * @param pool the workers to process the messages
+     */
+    private void submitLines(Path file, ThreadPoolExecutor pool) throws IOException {
+        try (BufferedReader bReader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+
+            // continue to check each line until we've reached the end of the file, or the results can't be written
+            while (writeFailure == null && (line = bReader.readLine()) != null) {
+                ++lineNumber;
+                String message = line.trim();
+
+                if (message.isEmpty())
+                    continue;
+
+                String source = file + ":" + lineNumber;
+                pool.execute(() -> process(source, message));
+            }
+        }
+    }
+
+    /**
+     * Processes a single message and writes its result.
+     *
+     * @param source where the message came from (file and line number)
+     * @param message the message to process
+     */
+    private void process(String source, String message) {
+        // the result could not be written anyway, so skip the messages which were already queued
+        if (writeFailure != null)
+            return;
+
+        long startTime = System.nanoTime();
+        boolean messageFailed = false;
+        StringBuilder json = new StringBuilder("{\"source\":").append(Functions.quoteJson(source));
+
+        try {
+            switch (mode) {
+                case CRACK -> {
+                    String[] result = Part1.decipher(message, solver);
+
+                    if (result.length == 0)
+                        json.append(",\"key\":null,\"plaintext\":null,\"score\":0");
+                    else
+                        json.append(",\"key\":").append(Functions.quoteJson(result[1]))
+                                .append(",\"plaintext\":").append(Functions.quoteJson(result[0]))
+                                .append(",\"score\":").append(averageWordLength(result[0]));
+                }
+                case ENCRYPT -> json.append(",\"key\":").append(Functions.quoteJson(key))
+                        .append(",\"ciphertext\":").append(Functions.quoteJson(Part2a.encrypt(message, key)));
+                case DECRYPT -> json.append(",\"key\":").append(Functions.quoteJson(key))
+                        .append(",\"plaintext\":").append(Functions.quoteJson(Part2b.decrypt(message, key)));
+            }
+        } catch (IOException | RuntimeException e) {
+            messageFailed = true;
+            json.append(",\"error\":").append(Functions.quoteJson(String.valueOf(e.getMessage())));
+        }
+
+        // normalize the time given in nanoseconds
+        double latency = (double) (System.nanoTime() - startTime) / 1_000_000;
+        json.append(",\"latencyMillis\":").append(latency).append("}\n");
+
+        // one worker writes at a time, so that lines are never interleaved
+        synchronized (out) {
+            // after the first failed write the output can't be trusted, so nothing more is written or counted
+            if (writeFailure != null)
+                return;
+
+            try {
+                out.write(json.toString());
+            } catch (IOException e) {
+                writeFailure = e;
+                return;
+            }
+
+            processed.incrementAndGet();
+
+            if (messageFailed)
+                failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the average length of the words in a message separated by spaces.
+     *
+     * @param message the message to measure
+     * @return the average word length
+     */
+    private static double averageWordLength(String message) {
+        String[] words = message.trim().split("\\s+");
+        return (double) message.replaceAll("\\s", "").length() / words.length;
+    }
+}
@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Tracks the most likely decoded message across many threads without locking.
+ */
+public class BestMatch {
+
+    /**
+     * An immutable decoded message, the key that produced it, and its score.
+     */
+    private static class Candidate {
+        private final ArrayList<String> words;
+        private final String key;
+        private final double score;
+
+        private Candidate(ArrayList<String> words, String key, double score) {
+            this.words = words;
+            this.key = key;
+            this.score = score;
+        }
+
+        /**
+         * Checks if this candidate should replace another one; ties are broken by the key so that the result
+         * does not depend on which thread happened to finish first.
+         *
+         * @param other the current best candidate, or null if there is none
+         * @return true if this candidate is better
+         */
+        private boolean beats(Candidate other) {
+            if (other == null || score > other.score)
+                return true;
+
+            return score == other.score && key.compareTo(other.key) < 0;
+        }
+    }
+
+    // the best candidate found so far, or null if no intelligible message has been found
+    private final AtomicReference<Candidate> best = new AtomicReference<>();
+    // the score at which a candidate is considered good enough to stop searching
+    private final double confidenceThreshold;
+
+    /**
+     * Creates a tracker which stops once a candidate's score reaches the threshold.
+     *
+     * @param confidenceThreshold the score at which the search can stop early
+     */
+    public BestMatch(double confidenceThreshold) {
+        this.confidenceThreshold = confidenceThreshold;
+    }
+
+    /**
+     * Returns the score of a decoded message, which is the average length of its words (the same measure as
+     * Functions.findMostLikelyMatch).
+     *
+     * @param words the decoded words
+     * @return the average word length
+     */
+    public static double score(ArrayList<String> words) {
+        double sum = 0;
+
+        for (String word : words)
+            sum += word.length();
+
+        return sum / words.size();
+    }
+
+    /**
+     * Offers a decoded message; it replaces the current best if it has a higher score.
+     *
+     * @param words the decoded words, which must not be empty
+     * @param key the key which produced the words
+     * @return true if the message became the new best
+     */
+    public boolean offer(ArrayList<String> words, String key) {
+        return offer(words, key, score(words));
+    }
+
+    /**
+     * Offers a decoded message with a score of the caller's choosing, which must be on the same scale as the
+     * confidence threshold and every other offered score.
+     *
+     * @param words the decoded words, which must not be empty
+     * @param key the key which produced the words
+     * @param score the score of the message
+     * @return true if the message became the new best
+     */
+    public boolean offer(ArrayList<String> words, String key, double score) {
+        Candidate candidate = new Candidate(words, key, score);
+        Candidate current;
+
+        // retry until either our candidate is installed or another thread installs a better one
+        do {
+            current = best.get();
+
+            if (!candidate.beats(current))
+                return false;
+        } while (!best.compareAndSet(current, candidate));
+
+        return true;
+    }
+
+    /**
+     * Checks if the current best candidate is good enough to stop searching.
+     *
+     * @return true if the search can stop
+     */
+    public boolean isConfident() {
+        Candidate current = best.get();
+        return current != null && current.score >= confidenceThreshold;
+    }
+
+    /**
+     * Checks if any intelligible message has been found.
+     *
+     * @return true if there is a best candidate
+     */
+    public boolean hasMatch() {
+        return best.get() != null;
+    }
+
+    /**
+     * Returns the score of the best candidate.
+     *
+     * @return the best score, or 0 if there is no candidate
+     */
+    public double getScore() {
+        Candidate current = best.get();
+        return current == null ? 0 : current.score;
+    }
+
+    /**
+     * Returns the best message and its key, in the same form as Functions.findMostLikelyMatch.
+     *
+     * @return the message and key, or an empty array if no intelligible message was found
+     */
+    public String[] getResult() {
+        Candidate current = best.get();
+
+        if (current == null)
+            return new String[0];
+
+        return new String[] {Functions.getArrayListAsString(current.words), current.key};
+    }
+}
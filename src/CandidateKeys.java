@@ -0,0 +1,561 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: The candidate keys tried by the brute-force search: every rotational shift, a keyword key for every
+ *          dictionary word, the reverse of each, and random keys built around frequency analysis. Keys are made
+ *          on demand from their index, so the memory used does not grow with the number of keys, and any range of
+ *          indexes can be handed to another thread.
+ *
+ * Each key is a byte[26] holding the encrypted letter (0-25) of each plaintext letter (0-25), the same order as
+ * the modified alphabet key Strings used everywhere else.
+ *
+ * Every random choice comes from a seed, so the same seed always gives the same keys at the same indexes, however
+ * many threads share them out. The seed is taken from the "crack.seed" system property if it is set, and is
+ * otherwise picked at random.
+ */
+public class CandidateKeys {
+
+    // the number of keys generated when no budget is given
+    public static final long DEFAULT_NUM_OF_KEYS = 500_000;
+    // the system property holding the seed of the random keys; a new seed is picked for every crack if unset
+    public static final String SEED_PROPERTY = "crack.seed";
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the most letters left open by frequency analysis for which random keys are drawn without repeats
+    private static final int MAX_EXACT_OPEN_LETTERS = 20;
+    // the number of rounds of the Feistel network used to draw random keys without repeats
+    private static final int NUM_OF_ROUNDS = 4;
+    /*
+        The number of indexes whose random keys are drawn from one stream of random numbers, when there are too
+        many orderings to draw them without repeats; each CrackJob slice covers whole blocks
+     */
+    private static final int BLOCK_SIZE = 1_024;
+    // the increment of the SplitMix64 generator, used to spread the block numbers apart before mixing them
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // n! for every n that fits in a long
+    private static final long[] FACTORIALS = new long[MAX_EXACT_OPEN_LETTERS + 1];
+
+    static {
+        FACTORIALS[0] = 1;
+
+        for (int n = 1; n <= MAX_EXACT_OPEN_LETTERS; ++n)
+            FACTORIALS[n] = FACTORIALS[n - 1] * n;
+    }
+
+    /*
+        The structured keys, 26 bytes each: the keys which only depend on the dictionary, without repeats, in the
+        order they are tried. They are the same for every message, so each Dictionary keeps its own
+     */
+    private final byte[] structured;
+    // the number of structured keys tried
+    private final int numOfStructured;
+    // the key found by frequency analysis, with -1 for each letter it left open
+    private final byte[] template;
+    // the plaintext letters left open, and the encrypted letters which fill them (in alphabetical order)
+    private final int[] openSlots;
+    private final byte[] openLetters;
+    // the total number of keys
+    private final long numOfKeys;
+    // the number of ways to fill the open letters, or 0 if there are too many to draw without repeats
+    private final long numOfFillings;
+    // the bits in each half of the Feistel network's input, and the key of each round
+    private final int halfBits;
+    private final long[] roundKeys = new long[NUM_OF_ROUNDS];
+    // the seed of every random choice
+    private final long seed;
+
+    private CandidateKeys(byte[] structured, byte[] template, long numOfKeys, long seed) {
+        this.structured = structured;
+        this.numOfStructured = (int) Math.min(structured.length / ALPHABET_SIZE, numOfKeys);
+        this.template = template;
+
+        // the open letters are filled with the encrypted letters that the template does not use yet
+        boolean[] used = new boolean[ALPHABET_SIZE];
+        int numOfOpen = 0;
+
+        for (byte letter : template) {
+            if (letter >= 0)
+                used[letter] = true;
+            else
+                ++numOfOpen;
+        }
+
+        openSlots = new int[numOfOpen];
+        openLetters = new byte[numOfOpen];
+
+        for (int plain = 0, slot = 0; plain < ALPHABET_SIZE; ++plain)
+            if (template[plain] < 0)
+                openSlots[slot++] = plain;
+
+        for (int letter = 0, open = 0; letter < ALPHABET_SIZE; ++letter)
+            if (!used[letter])
+                openLetters[open++] = (byte) letter;
+
+        // the original set of keys dropped repeated random keys, so never try more keys than there are fillings
+        long numOfRandomKeys = Math.max(0, numOfKeys - numOfStructured);
+        numOfFillings = numOfOpen <= MAX_EXACT_OPEN_LETTERS ? FACTORIALS[numOfOpen] : 0;
+
+        if (numOfFillings > 0)
+            numOfRandomKeys = Math.min(numOfRandomKeys, numOfFillings);
+
+        this.numOfKeys = numOfStructured + numOfRandomKeys;
+
+        // the Feistel network works on a power of 2 at least as large as the number of fillings
+        int bits = numOfFillings > 1 ? Long.SIZE - Long.numberOfLeadingZeros(numOfFillings - 1) : 1;
+        halfBits = (bits + 1) / 2;
+
+        this.seed = seed;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int round = 0; round < NUM_OF_ROUNDS; ++round)
+            roundKeys[round] = random.nextLong();
+    }
+
+    /**
+     * Returns the seed set by the "crack.seed" system property, or a new random seed if it is not set.
+     *
+     * @return the seed
+     */
+    public static long defaultSeed() {
+        String seed = System.getProperty(SEED_PROPERTY);
+
+        if (seed != null) {
+            try {
+                return Long.parseLong(seed);
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring " + SEED_PROPERTY + "=" + seed + "; expected a whole number.");
+            }
+        }
+
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Prepares the candidate keys for an encrypted message; nothing but the frequency analysis is done up front.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message, whose dictionary words are used to build keyword keys
+     * @param numOfKeys the number of keys to try; the structured keys are always kept first, so fewer random
+     *                  keys are added (or the structured keys are cut short) when the number is small
+     * @return the candidate keys
+     */
+    public static CandidateKeys of(String encodedMessage, LanguageProfile language, long numOfKeys)
+            throws IOException {
+        return of(encodedMessage, language, numOfKeys, defaultSeed());
+    }
+
+    /**
+     * Prepares the candidate keys for an encrypted message, drawing the random keys from a seed.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message, whose dictionary words are used to build keyword keys
+     * @param numOfKeys the number of keys to try
+     * @param seed the seed of the random keys; the same seed always gives the same keys
+     * @return the candidate keys
+     */
+    public static CandidateKeys of(String encodedMessage, LanguageProfile language, long numOfKeys, long seed)
+            throws IOException {
+        // the alphabet map of values used for all messages
+        String alphabet = language.getAlphabet();
+        byte[] structured = language.getDictionary().getStructuredKeys();
+
+        // attempt to use frequency analysis to generate likely keys
+        ArrayList<String> frequencyKey =
+                Functions.getKeyByFrequency(language.getFrequencyFile(), alphabet, encodedMessage, 1);
+        byte[] template = new byte[ALPHABET_SIZE];
+
+        // mark each letter that frequency analysis left empty
+        for (int plain = 0; plain < ALPHABET_SIZE; ++plain)
+            template[plain] = frequencyKey.get(plain).isEmpty() ? -1 :
+                    (byte) (frequencyKey.get(plain).charAt(0) - 'a');
+
+        return new CandidateKeys(structured, template, numOfKeys, seed);
+    }
+
+    /**
+     * Builds every rotational shift, a keyword key for every dictionary word, and the reverse of each, dropping
+     * repeats and keeping the first of each. The words are read from the trie, so a dictionary mapped from a
+     * snapshot never has to create its word set, and the keys come out in the same order however it was loaded.
+     *
+     * @param trie the words used to build keyword keys
+     * @return the structured keys, 26 bytes each
+     */
+    static byte[] buildStructuredKeys(WordTrie trie) {
+        KeyList keys = new KeyList(2 * (ALPHABET_SIZE + trie.getNumOfWords()));
+        byte[] key = new byte[ALPHABET_SIZE];
+
+        // add all rotational shifts to the possible keys
+        for (int shift = 0; shift < ALPHABET_SIZE; ++shift) {
+            for (int plain = 0; plain < ALPHABET_SIZE; ++plain)
+                key[plain] = (byte) ((plain + shift) % ALPHABET_SIZE);
+
+            keys.addIfNew(key);
+        }
+
+        // add all simple substitution keys using our dictionary; the trie only holds lowercase words
+        trie.forEachWord(word -> {
+            // a bit for each letter that is already in the key
+            int usedLetters = 0;
+            int length = 0;
+
+            // add each non-repeating letter of the word to the key
+            for (int i = 0; i < word.length(); ++i) {
+                int letter = word.charAt(i) - 'a';
+
+                if ((usedLetters & (1 << letter)) == 0) {
+                    usedLetters |= 1 << letter;
+                    key[length++] = (byte) letter;
+                }
+            }
+
+            // add the rest of the alphabet to the end of the key
+            for (int letter = 0; letter < ALPHABET_SIZE; ++letter)
+                if ((usedLetters & (1 << letter)) == 0)
+                    key[length++] = (byte) letter;
+
+            keys.addIfNew(key);
+        });
+
+        // reverse all previous keys
+        int numOfForwardKeys = keys.size;
+
+        for (int i = 0; i < numOfForwardKeys; ++i) {
+            for (int plain = 0; plain < ALPHABET_SIZE; ++plain)
+                key[plain] = keys.keys[i * ALPHABET_SIZE + ALPHABET_SIZE - 1 - plain];
+
+            keys.addIfNew(key);
+        }
+
+        return Arrays.copyOf(keys.keys, keys.size * ALPHABET_SIZE);
+    }
+
+    /**
+     * The structured keys while they are being built, without repeats.
+     */
+    private static class KeyList {
+        // the keys added so far, 26 bytes each
+        private final byte[] keys;
+        // the number of keys added so far
+        private int size;
+        // the keys added so far, to drop repeats
+        private final Set<String> seen = new HashSet<>();
+
+        private KeyList(int capacity) {
+            keys = new byte[capacity * ALPHABET_SIZE];
+        }
+
+        /**
+         * Copies a key to the end of the list, unless it is already in the list.
+         *
+         * @param key the key to add
+         */
+        private void addIfNew(byte[] key) {
+            if (!seen.add(CandidateKeys.toString(key)))
+                return;
+
+            System.arraycopy(key, 0, keys, size * ALPHABET_SIZE, ALPHABET_SIZE);
+            ++size;
+        }
+    }
+
+    /**
+     * Returns the total number of keys.
+     *
+     * @return the number of keys
+     */
+    public long size() {
+        return numOfKeys;
+    }
+
+    /**
+     * Returns the seed of the random keys.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Makes the key at an index. The structured keys come first, followed by the random keys.
+     *
+     * @param index the index of the key, from 0 to size() - 1
+     * @param key the array to write the key to; its encrypted letter (0-25) for each plaintext letter (0-25)
+     */
+    public void keyAt(long index, byte[] key) {
+        new KeySpliterator(index, index + 1, false).keyAt(index, key);
+    }
+
+    /**
+     * Returns the stream of random numbers for a block of random keys. Each block has its own stream, made from
+     * the seed and the block's number alone, so a block's keys do not depend on which thread makes them.
+     *
+     * @param block the index of the block; block n holds the keys from index n * BLOCK_SIZE
+     * @return the stream of random numbers, at its start
+     */
+    private SplittableRandom blockRandom(long block) {
+        return new SplittableRandom(mix(seed + (block + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Fills the open letters of a key with one of their orderings, counting orderings in the factorial number
+     * system.
+     *
+     * @param rank the ordering, from 0 to n! - 1 for n open letters
+     * @param key the key with its open letters to fill
+     */
+    private void fillByRank(long rank, byte[] key) {
+        // the encrypted letters not placed yet, in alphabetical order
+        byte[] remaining = openLetters.clone();
+        int numOfRemaining = remaining.length;
+
+        for (int slot : openSlots) {
+            long factorial = FACTORIALS[numOfRemaining - 1];
+            int choice = (int) (rank / factorial);
+            rank %= factorial;
+
+            key[slot] = remaining[choice];
+            // close the gap left by the chosen letter
+            System.arraycopy(remaining, choice + 1, remaining, choice, --numOfRemaining - choice);
+        }
+    }
+
+    /**
+     * Fills the open letters of a key with a random ordering, shuffling them in place within the key
+     * (Fisher-Yates); used when there are too many orderings for a repeat to be likely.
+     *
+     * @param key the key with its open letters to fill
+     * @param random the stream of random numbers of the key's block
+     */
+    private void fillRandomly(byte[] key, SplittableRandom random) {
+        for (int i = 0; i < openSlots.length; ++i)
+            key[openSlots[i]] = openLetters[i];
+
+        for (int i = openSlots.length - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            byte temp = key[openSlots[i]];
+            key[openSlots[i]] = key[openSlots[j]];
+            key[openSlots[j]] = temp;
+        }
+    }
+
+    /**
+     * Maps each index to a different ordering of the open letters, in a random order. A Feistel network shuffles
+     * the next power of 2, and values beyond the number of orderings are shuffled again until they fit (cycle
+     * walking), so no two indexes ever share an ordering and nothing needs to be remembered.
+     *
+     * @param index the index of the random key, less than the number of orderings
+     * @return the rank of the ordering
+     */
+    private long permute(long index) {
+        long value = index;
+
+        do {
+            value = feistel(value);
+        } while (value >= numOfFillings);
+
+        return value;
+    }
+
+    /**
+     * Shuffles a value of 2 * halfBits bits with a Feistel network, which is always a one-to-one mapping.
+     *
+     * @param value the value to shuffle
+     * @return the shuffled value
+     */
+    private long feistel(long value) {
+        long mask = (1L << halfBits) - 1;
+        long left = value >>> halfBits;
+        long right = value & mask;
+
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & mask);
+            left = right;
+            right = next;
+        }
+
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * Scrambles the bits of a value (the SplitMix64 finalizer).
+     *
+     * @param value the value to scramble
+     * @return the scrambled value
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Returns a key as a modified alphabet key String.
+     *
+     * @param key the encrypted letter (0-25) for each plaintext letter (0-25)
+     * @return the key as a String
+     */
+    public static String toString(byte[] key) {
+        char[] letters = new char[key.length];
+
+        for (int i = 0; i < key.length; ++i)
+            letters[i] = (char) ('a' + key[i]);
+
+        return new String(letters);
+    }
+
+    /**
+     * Returns the keys with indexes in a range, made one at a time as they are used. The spliterator splits its
+     * range in half (on a block boundary where it can), so the keys can be shared out between threads.
+     *
+     * @param from the index of the first key
+     * @param to the index after the last key
+     * @return the spliterator of new key arrays
+     */
+    public Spliterator<byte[]> spliterator(long from, long to) {
+        return new KeySpliterator(from, Math.min(to, numOfKeys), false);
+    }
+
+    /**
+     * Returns the keys with indexes in a range like spliterator, but writes every key into the same array, so no
+     * memory is allocated per key. Each key is only valid until the next one is made; an action which keeps a
+     * key must copy it (as CandidateKeys.toString does).
+     *
+     * @param from the index of the first key
+     * @param to the index after the last key
+     * @return the spliterator of one reused key array
+     */
+    Spliterator<byte[]> reusingSpliterator(long from, long to) {
+        return new KeySpliterator(from, Math.min(to, numOfKeys), true);
+    }
+
+    /**
+     * Returns a stream of every key, made one at a time as they are used.
+     *
+     * @param parallel whether the stream is parallel
+     * @return the stream of new key arrays
+     */
+    public Stream<byte[]> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(0, numOfKeys), parallel);
+    }
+
+    /**
+     * Makes the keys of a range of indexes as they are asked for. Each spliterator keeps the stream of random
+     * numbers of the block it is in, so the threads sharing the keys never share a stream.
+     */
+    private class KeySpliterator implements Spliterator<byte[]> {
+        private long next;
+        private final long end;
+
+        // the stream of random numbers of the current block, and the index of the key it makes next
+        private SplittableRandom random;
+        private long randomIndex = -1;
+
+        // the array every key is written into, or null to make a new array for each key
+        private final byte[] reusedKey;
+
+        private KeySpliterator(long from, long to, boolean reuseKey) {
+            this.next = from;
+            this.end = to;
+            this.reusedKey = reuseKey ? new byte[ALPHABET_SIZE] : null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super byte[]> action) {
+            if (next >= end)
+                return false;
+
+            byte[] key = reusedKey != null ? reusedKey : new byte[ALPHABET_SIZE];
+            keyAt(next++, key);
+            action.accept(key);
+
+            return true;
+        }
+
+        /**
+         * Makes the key at an index, following on from the stream of random numbers of the last key made.
+         *
+         * @param index the index of the key, from 0 to size() - 1
+         * @param key the array to write the key to
+         */
+        private void keyAt(long index, byte[] key) {
+            if (index < numOfStructured) {
+                System.arraycopy(structured, (int) index * ALPHABET_SIZE, key, 0, ALPHABET_SIZE);
+                return;
+            }
+
+            System.arraycopy(template, 0, key, 0, ALPHABET_SIZE);
+
+            if (numOfFillings > 0) {
+                fillByRank(permute(index - numOfStructured), key);
+                return;
+            }
+
+            // the block holding the key, and the index of its first random key
+            long block = index / BLOCK_SIZE;
+            long blockStart = Math.max(block * BLOCK_SIZE, numOfStructured);
+
+            // start the block's stream over when moving to another block, or back within this one
+            if (randomIndex != index || index == blockStart) {
+                random = blockRandom(block);
+                randomIndex = blockStart;
+            }
+
+            // skip the block's keys before this one (only when a range starts partway through a block)
+            for (; randomIndex < index; ++randomIndex)
+                fillRandomly(key, random);
+
+            fillRandomly(key, random);
+            ++randomIndex;
+        }
+
+        @Override
+        public Spliterator<byte[]> trySplit() {
+            long middle = next + (end - next) / 2;
+
+            // split on the nearest boundary between blocks of random keys, so that a block is only made once
+            if (middle > numOfStructured) {
+                long offset = middle % BLOCK_SIZE;
+
+                if (middle - offset > next)
+                    middle -= offset;
+                else if (offset > 0 && middle - offset + BLOCK_SIZE < end)
+                    middle += BLOCK_SIZE - offset;
+            }
+
+            if (middle <= next)
+                return null;
+
+            // each half gets its own array to reuse, since the halves may be used by different threads
+            Spliterator<byte[]> firstHalf = new KeySpliterator(next, middle, reusedKey != null);
+            next = middle;
+
+            return firstHalf;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,431 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Serves encrypt, decrypt and crack requests over HTTP on the local machine, so that the JVM, the
+ *          dictionary and the solver tables are only warmed up once for every request.
+ *
+ * Endpoints (the message is the UTF-8 request body; every response is a JSON object):
+ *      POST /encrypt?key=<key>
+ *      POST /decrypt?key=<key>
+ *      POST /crack?solver=brute-force|hill-climbing|word-pattern|vigenere|coverage[&keys=<budget>]
+ *                 [&timeLimitMillis=<ms>][&seed=<seed>][&language=<name>][&spaced=true]
+ *          (the budgets and seed only apply to brute-force and coverage, which return the best match found when a
+ *          budget runs out; the same seed always tries the same keys. The language is detected if it is not given.
+ *          spaced=true tells word-pattern that the spaces fall between words, which it cannot tell for a message
+ *          made only of five-letter words)
+ *      GET  /health
+ *      GET  /metrics
+ */
+public class CipherServer {
+
+    // the port the server listens on by default
+    public static final int DEFAULT_PORT = 8378;
+    // the most bytes accepted in a single request body
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    // the most connections waiting to be accepted, so that bursts of clients are not reset
+    private static final int BACKLOG = 4096;
+    // the most idle keep-alive connections kept open; the JDK closes the rest, which clients may be reusing
+    private static final String MAX_IDLE_CONNECTIONS = "1024";
+    // the number of seconds a client is asked to wait before retrying a rejected crack
+    private static final int RETRY_AFTER_SECONDS = 5;
+
+    // handles every request; encryption and decryption run on it directly
+    private final ExecutorService requestPool;
+    // runs the crack jobs, which are far more expensive than any other request
+    private final ExecutorService crackPool;
+    /*
+        Permits for crack jobs: one per crack that is running or waiting for the crack pool. When none are left,
+        new cracks are turned away immediately instead of piling up behind the running ones
+     */
+    private final Semaphore crackPermits;
+    private final HttpServer server;
+
+    private CipherServer(int port, int numOfThreads, int numOfCrackThreads, int crackQueueSize) throws IOException {
+        this.requestPool = Executors.newFixedThreadPool(numOfThreads, namedThreads("cipher-request"));
+        this.crackPool = Executors.newFixedThreadPool(numOfCrackThreads, namedThreads("cipher-crack"));
+        this.crackPermits = new Semaphore(numOfCrackThreads + crackQueueSize);
+
+        // only accept connections from this machine
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.setExecutor(requestPool);
+
+        server.createContext("/encrypt", exchange -> handle(exchange, "POST", this::encrypt));
+        server.createContext("/decrypt", exchange -> handle(exchange, "POST", this::decrypt));
+        server.createContext("/crack", exchange -> handle(exchange, "POST", this::crack));
+        server.createContext("/health", exchange -> handle(exchange, "GET", this::health));
+        server.createContext("/metrics", exchange -> handle(exchange, "GET",
+                request -> new Response(200, "{\"summary\":" +
+                        Functions.quoteJson(CrackMetrics.getInstance().getSummary()) + "}")));
+    }
+
+    /**
+     * Starts the server from the command line.
+     *
+     * @param args the options; run with --help to print the usage
+     */
+    public static void main(String[] args) {
+
+        int port = DEFAULT_PORT;
+        int numOfThreads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+        int numOfCrackThreads = Runtime.getRuntime().availableProcessors();
+        int crackQueueSize = numOfCrackThreads * 2;
+
+        // read the options
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--threads" -> numOfThreads = Integer.parseInt(args[++i]);
+                    case "--crack-threads" -> numOfCrackThreads = Integer.parseInt(args[++i]);
+                    case "--crack-queue" -> crackQueueSize = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            if (numOfThreads < 1 || numOfCrackThreads < 1 || crackQueueSize < 0)
+                throw new IllegalArgumentException("At least one request thread and one crack thread are required.");
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.out.println((e.getMessage() == null ? "" : e.getMessage() + "\n") +
+                    "Usage: Main --server [--port <port>] [--threads <n>] [--crack-threads <n>] " +
+                    "[--crack-queue <n>]\n\tCracks beyond the crack threads and the queue are rejected with " +
+                    "503 until a slot frees up.");
+            return;
+        }
+
+        // handle I/O exceptions
+        try {
+            // lazy way to estimate the warm-up time
+            long startTime = System.nanoTime();
+
+            // load everything the requests share before accepting the first one
+            Dictionary dictionary = Dictionary.getInstance();
+            dictionary.getPatternIndex();
+            NGramTable.getInstance();
+
+            // normalize the time given in nanoseconds
+            double endTime = (double) (System.nanoTime() - startTime) / 1_000_000_000;
+
+            // must be set before the first server is created; an explicit -D option on the command line wins
+            if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null)
+                System.setProperty("sun.net.httpserver.maxIdleConnections", MAX_IDLE_CONNECTIONS);
+
+            CipherServer cipherServer = new CipherServer(port, numOfThreads, numOfCrackThreads, crackQueueSize);
+            Runtime.getRuntime().addShutdownHook(new Thread(cipherServer::stop));
+            cipherServer.server.start();
+
+            System.out.println("Dictionary " + dictionary + "\nWarmed up in " + endTime + " seconds; listening on " +
+                    "http://" + cipherServer.server.getAddress().getHostString() + ":" + port);
+
+        } // file could not be found, or is unreadable
+        catch (IOException e) {
+            System.out.println("The text file could not be read; please check the file and try again.");
+        }
+    }
+
+    /**
+     * Stops accepting requests, lets the running ones finish for a moment, then stops the workers.
+     */
+    private void stop() {
+        server.stop(1);
+        requestPool.shutdown();
+        crackPool.shutdownNow();
+    }
+
+    /**
+     * Returns a factory of daemon threads with numbered names.
+     *
+     * @param prefix the start of each thread's name
+     * @return the thread factory
+     */
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A request that has been read: its query parameters and its body.
+     */
+    private record Request(Map<String, String> parameters, String body) {
+    }
+
+    /**
+     * A response to write: its HTTP status and its JSON body.
+     */
+    private record Response(int status, String json) {
+    }
+
+    /**
+     * Handles the request of one endpoint.
+     */
+    private interface Handler {
+        Response handle(Request request) throws IOException;
+    }
+
+    /**
+     * Reads a request, passes it to the endpoint, and writes the response. Every problem is reported to the
+     * client as a JSON error rather than closing the connection.
+     *
+     * @param exchange the HTTP exchange
+     * @param method the HTTP method the endpoint accepts
+     * @param handler the endpoint
+     */
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        Response response;
+
+        try (exchange) {
+            try {
+                if (!exchange.getRequestMethod().equals(method))
+                    response = error(405, "Use " + method + " for this endpoint.");
+                else
+                    response = handler.handle(new Request(parseQuery(exchange.getRequestURI().getRawQuery()),
+                            readBody(exchange.getRequestBody())));
+            } catch (IllegalArgumentException e) {
+                response = error(400, e.getMessage());
+            } catch (IOException | RuntimeException e) {
+                response = error(500, String.valueOf(e.getMessage()));
+            }
+
+            if (response.status() == 503)
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+
+            byte[] bytes = response.json().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status(), bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Encrypts the request body with the key parameter.
+     *
+     * @param request the request
+     * @return the encrypted message
+     */
+    private Response encrypt(Request request) {
+        String key = requireKey(request);
+
+        return new Response(200, "{\"key\":" + Functions.quoteJson(key) + ",\"ciphertext\":" +
+                Functions.quoteJson(Part2a.encrypt(request.body(), key)) + "}");
+    }
+
+    /**
+     * Decrypts the request body with the key parameter.
+     *
+     * @param request the request
+     * @return the decrypted message
+     */
+    private Response decrypt(Request request) throws IOException {
+        String key = requireKey(request);
+
+        return new Response(200, "{\"key\":" + Functions.quoteJson(key) + ",\"plaintext\":" +
+                Functions.quoteJson(Part2b.decrypt(request.body(), key)) + "}");
+    }
+
+    /**
+     * Cracks the request body on the crack pool, or rejects it straight away if every crack slot is taken.
+     *
+     * @param request the request
+     * @return the decoded message and its key
+     */
+    private Response crack(Request request) throws IOException {
+        Solver solver = Solver.valueOf(request.parameters().getOrDefault("solver", "brute-force")
+                .toUpperCase(Locale.ROOT).replace('-', '_'));
+
+        // the optional limits of a brute-force crack
+        long keyBudget = Long.parseLong(request.parameters().getOrDefault("keys",
+                String.valueOf(CandidateKeys.DEFAULT_NUM_OF_KEYS)));
+        String timeLimitMillis = request.parameters().get("timeLimitMillis");
+        Duration timeLimit = timeLimitMillis == null ? null : Duration.ofMillis(Long.parseLong(timeLimitMillis));
+        String seedParameter = request.parameters().get("seed");
+        long seed = seedParameter == null ? CandidateKeys.defaultSeed() : Long.parseLong(seedParameter);
+        // the language of the message, picked from its letter counts unless it is given
+        String languageName = request.parameters().get("language");
+        LanguageProfile language = languageName == null ? LanguageProfile.detect(request.body()) :
+                LanguageProfile.get(languageName);
+        // whether the spaces of the message are known to fall between its words, for the word-pattern solver
+        boolean spacedWords = Boolean.parseBoolean(request.parameters().get("spaced"));
+
+        if (request.body().isBlank())
+            throw new IllegalArgumentException("The request body must hold the encrypted message.");
+
+        if (keyBudget <= 0 || (timeLimit != null && timeLimit.isNegative()))
+            throw new IllegalArgumentException("The keys and timeLimitMillis parameters must be positive.");
+
+        if (!crackPermits.tryAcquire())
+            return error(503, "Too many cracks are running; please try again later.");
+
+        try {
+            Future<String[]> job = crackPool.submit(() -> switch (solver) {
+                case BRUTE_FORCE, COVERAGE -> crackWithBudget(request.body(), solver, language, keyBudget, timeLimit,
+                        seed);
+                case WORD_PATTERN -> spacedWords ? Part1.decipherByWordPattern(request.body(), language, true) :
+                        Part1.decipher(request.body(), solver, language);
+                default -> Part1.decipher(request.body(), solver, language);
+            });
+            String[] result = job.get();
+
+            if (result.length == 0)
+                return new Response(200, "{\"key\":null,\"plaintext\":null}");
+
+            return new Response(200, "{\"key\":" + Functions.quoteJson(result[1]) + ",\"plaintext\":" +
+                    Functions.quoteJson(result[0]) + "}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(503, "The server is shutting down.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            crackPermits.release();
+        }
+    }
+
+    /**
+     * Cracks a message with the brute-force search, within its budgets, unless the shared CrackCache or the affine
+     * fast path answers it. A result is only cached once the whole default key set has been searched; a search
+     * cut short by a budget may find a better match the next time.
+     *
+     * @param encodedMessage the encrypted message
+     * @param solver BRUTE_FORCE, or COVERAGE to score each decoded message by word coverage
+     * @param language the language of the message
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the search may run, or null for no limit
+     * @param seed the seed of the random keys
+     * @return the decoded message and its key, or an empty array if no match was found
+     */
+    private static String[] crackWithBudget(String encodedMessage, Solver solver, LanguageProfile language,
+                                            long keyBudget, Duration timeLimit, long seed) throws IOException {
+        CrackCache cache = CrackCache.getInstance();
+        String[] result = cache.get(encodedMessage, solver, language);
+
+        if (result != null)
+            return result;
+
+        result = Part1.decipherByAffineKey(encodedMessage, language);
+
+        if (result.length > 0) {
+            cache.put(encodedMessage, solver, language, result);
+            return result;
+        }
+
+        CrackJob.Scoring scoring = solver == Solver.COVERAGE ? CrackJob.Scoring.COVERAGE : CrackJob.Scoring.SENTENCE;
+        CrackJob job = Part1.decipherAsync(encodedMessage, language, scoring, keyBudget, timeLimit,
+                Double.POSITIVE_INFINITY, seed);
+        result = job.join();
+
+        if (keyBudget >= CandidateKeys.DEFAULT_NUM_OF_KEYS && job.triedAllKeys())
+            cache.put(encodedMessage, solver, language, result);
+
+        return result;
+    }
+
+    /**
+     * Reports that the server is up, along with the shared dictionary and the free crack slots.
+     *
+     * @param request the request
+     * @return the health of the server
+     */
+    private Response health(Request request) throws IOException {
+        return new Response(200, "{\"status\":\"ok\",\"dictionary\":" +
+                Functions.quoteJson(Dictionary.getInstance().toString()) + ",\"freeCrackSlots\":" +
+                crackPermits.availablePermits() + "}");
+    }
+
+    /**
+     * Returns the key parameter of a request, validating it once up front.
+     *
+     * @param request the request
+     * @return the key
+     */
+    private static String requireKey(Request request) {
+        String key = request.parameters().get("key");
+
+        if (key == null)
+            throw new IllegalArgumentException("The key parameter is required.");
+
+        SubstitutionKey.of(key);
+        return key;
+    }
+
+    /**
+     * Returns an error response.
+     *
+     * @param status the HTTP status
+     * @param message the description of the error
+     * @return the response
+     */
+    private static Response error(int status, String message) {
+        return new Response(status, "{\"error\":" + Functions.quoteJson(message) + "}");
+    }
+
+    /**
+     * Splits a raw query String into its decoded parameters.
+     *
+     * @param rawQuery the query, or null if there is none
+     * @return the parameters by name
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+
+        if (rawQuery == null)
+            return parameters;
+
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+
+            if (separator > 0)
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Reads the request body as UTF-8, refusing bodies that are too large.
+     *
+     * @param in the body of the request
+     * @return the body as a String
+     */
+    private static String readBody(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+
+        if (bytes.length > MAX_BODY_BYTES)
+            throw new IllegalArgumentException("The request body is larger than " + MAX_BODY_BYTES + " bytes.");
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,375 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Remembers the messages which have already been cracked, so that cracking one again is a lookup
+ *          instead of a search. A message is found either by its letters, or by its letter pattern: a message
+ *          with the same pattern as a cracked one is the same plaintext under another key, and that key is
+ *          worked out by composing the cracked key with the mapping between the two messages. Vigenere
+ *          keywords cannot be composed this way, so those messages are only found by their letters.
+ *
+ * The cache holds "crack.cache.size" messages (1024 by default), dropping the least recently used ones first. If
+ * the "crack.cache.file" system property names a file, every cracked message is also appended to it, and the file
+ * is read back when the program starts.
+ */
+public class CrackCache {
+
+    // the system property holding the number of messages to keep
+    public static final String SIZE_PROPERTY = "crack.cache.size";
+    // the system property holding the file the cache is saved to; the cache is only kept in memory if unset
+    public static final String FILE_PROPERTY = "crack.cache.file";
+    // the number of messages kept when no size is given
+    public static final int DEFAULT_SIZE = 1024;
+
+    // the alphabet map of values used for all messages
+    private static final String ALPHABET = SubstitutionKey.ALPHABET;
+
+    /**
+     * A cracked message: its letters, the solver (and language, if not the default) that cracked it, and the
+     * result.
+     */
+    private record Solution(String solver, String letters, String plaintext, String key) {
+    }
+
+    // the most messages kept in each tier
+    private final int capacity;
+    // the cracked messages by solver and letters
+    private final Map<String, Solution> byLetters;
+    // the cracked messages by solver and letter pattern
+    private final Map<String, Solution> byPattern;
+    // the file each cracked message is appended to, or null if the cache is only kept in memory
+    private final Path file;
+
+    /**
+     * Holds the cache shared by the whole program, set up from the system properties on first use.
+     */
+    private static class Holder {
+        private static final CrackCache INSTANCE = create();
+    }
+
+    /**
+     * Creates an empty cache, reading back the saved messages if there is a file.
+     *
+     * @param capacity the most messages to keep
+     * @param file the file each cracked message is appended to, or null to only keep the cache in memory
+     */
+    public CrackCache(int capacity, Path file) throws IOException {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("The cache must hold at least one message.");
+
+        this.capacity = capacity;
+        this.byLetters = leastRecentlyUsed(capacity);
+        this.byPattern = leastRecentlyUsed(capacity);
+        this.file = file;
+
+        if (file != null && Files.exists(file))
+            load();
+    }
+
+    /**
+     * Returns the cache shared by the whole program.
+     *
+     * @return the shared cache
+     */
+    public static CrackCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the shared cache from the system properties, falling back to a cache in memory if the file cannot
+     * be read.
+     *
+     * @return the new cache
+     */
+    private static CrackCache create() {
+        int capacity = DEFAULT_SIZE;
+        String size = System.getProperty(SIZE_PROPERTY);
+        String fileName = System.getProperty(FILE_PROPERTY);
+
+        try {
+            if (size != null)
+                capacity = Integer.parseInt(size);
+
+            return new CrackCache(capacity, fileName == null ? null : Path.of(fileName));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring " + SIZE_PROPERTY + "=" + size + "; expected a positive number.");
+        } catch (IOException e) {
+            System.err.println("The cache file " + fileName + " could not be read; the cache will not be saved.");
+        }
+
+        try {
+            return new CrackCache(DEFAULT_SIZE, null);
+        } catch (IOException e) {
+            // nothing is read without a file
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns a map which drops its least recently used entry once it holds more than the capacity.
+     *
+     * @param capacity the most entries to keep
+     * @return the empty map
+     */
+    private static Map<String, Solution> leastRecentlyUsed(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Solution> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the letters of a message, lowercased, without whitespace or special characters.
+     *
+     * @param message the message
+     * @return the letters
+     */
+    private static String normalize(String message) {
+        return new String(Part1.lettersOf(message));
+    }
+
+    /**
+     * Returns the cached result of cracking a message with a solver. A message with the same letters as a cached
+     * one is answered with its result; a message with the same letter pattern is answered with the same
+     * plaintext and a key composed for the new letters.
+     *
+     * @param encodedMessage the encrypted message
+     * @param solver the solver the result must have come from
+     * @return the message and key, or null if the message has not been cracked
+     */
+    public String[] get(String encodedMessage, Solver solver) {
+        return get(encodedMessage, solver, LanguageProfile.getDefault());
+    }
+
+    /**
+     * Returns the cached result of cracking a message written in a given language with a solver.
+     *
+     * @param encodedMessage the encrypted message
+     * @param solver the solver the result must have come from
+     * @param language the language the message was cracked in
+     * @return the message and key, or null if the message has not been cracked
+     */
+    public String[] get(String encodedMessage, Solver solver, LanguageProfile language) {
+        String letters = normalize(encodedMessage);
+        String solverName = solverName(solver, language);
+        CrackMetrics metrics = CrackMetrics.getInstance();
+        Solution solution;
+
+        synchronized (this) {
+            solution = byLetters.get(solverName + ":" + letters);
+
+            // only a substitution key can be composed for another message with the same pattern
+            if (solution == null && solver.isMonoalphabetic()) {
+                solution = byPattern.get(solverName + ":" + Functions.getWordPattern(letters));
+
+                if (solution != null) {
+                    metrics.recordCacheHit(true);
+                    return new String[] {solution.plaintext(),
+                            composeKey(solution.letters(), solution.key(), letters)};
+                }
+            }
+        }
+
+        if (solution == null) {
+            metrics.recordCacheMiss();
+            return null;
+        }
+
+        metrics.recordCacheHit(false);
+        return new String[] {solution.plaintext(), solution.key()};
+    }
+
+    /**
+     * Remembers the result of cracking a message. Messages which were not cracked are not remembered, since the
+     * random keys may find a match next time.
+     *
+     * @param encodedMessage the encrypted message
+     * @param solver the solver which cracked it
+     * @param result the message and key, or an empty array if no match was found
+     */
+    public void put(String encodedMessage, Solver solver, String[] result) {
+        put(encodedMessage, solver, LanguageProfile.getDefault(), result);
+    }
+
+    /**
+     * Remembers the result of cracking a message written in a given language.
+     *
+     * @param encodedMessage the encrypted message
+     * @param solver the solver which cracked it
+     * @param language the language the message was cracked in
+     * @param result the message and key, or an empty array if no match was found
+     */
+    public void put(String encodedMessage, Solver solver, LanguageProfile language, String[] result) {
+        if (result.length == 0)
+            return;
+
+        Solution solution = new Solution(solverName(solver, language), normalize(encodedMessage), result[0],
+                result[1]);
+
+        synchronized (this) {
+            add(solution);
+
+            if (file != null)
+                append(solution);
+        }
+    }
+
+    /**
+     * Returns the name a solver's results are kept under; results in other languages than the default one are
+     * kept apart (ex: "BRUTE_FORCE@french"), and the default language's names match older cache files.
+     *
+     * @param solver the solver
+     * @param language the language of the messages
+     * @return the name
+     */
+    private static String solverName(Solver solver, LanguageProfile language) {
+        return LanguageProfile.DEFAULT_LANGUAGE.equals(language.getName()) ? solver.name() :
+                solver.name() + "@" + language.getName();
+    }
+
+    /**
+     * Adds a cracked message to both tiers.
+     *
+     * @param solution the cracked message
+     */
+    private void add(Solution solution) {
+        byLetters.put(solution.solver() + ":" + solution.letters(), solution);
+        byPattern.put(solution.solver() + ":" + Functions.getWordPattern(solution.letters()), solution);
+    }
+
+    /**
+     * Returns the key which decodes a message with the same letter pattern as a cracked one into the same
+     * plaintext. The cracked message's letters map one-to-one onto the new message's letters, so each letter of
+     * the cracked key is replaced by the letter it maps to; the letters missing from both messages are paired up
+     * in alphabetical order.
+     *
+     * @param crackedLetters the letters of the cracked message
+     * @param crackedKey the key of the cracked message
+     * @param letters the letters of the new message, with the same pattern
+     * @return the key of the new message
+     */
+    static String composeKey(String crackedLetters, String crackedKey, String letters) {
+        // the new letter for each letter of the cracked message, or 0 if it does not appear
+        char[] mapping = new char[ALPHABET.length()];
+        // whether each letter is already used by the new message
+        boolean[] used = new boolean[ALPHABET.length()];
+
+        for (int i = 0; i < crackedLetters.length(); ++i) {
+            mapping[crackedLetters.charAt(i) - 'a'] = letters.charAt(i);
+            used[letters.charAt(i) - 'a'] = true;
+        }
+
+        // pair up the letters missing from both messages, so that the key stays one-to-one
+        int nextUnused = 0;
+
+        for (int i = 0; i < mapping.length; ++i) {
+            if (mapping[i] != 0)
+                continue;
+
+            while (used[nextUnused])
+                ++nextUnused;
+
+            mapping[i] = (char) ('a' + nextUnused);
+            used[nextUnused] = true;
+        }
+
+        char[] key = new char[crackedKey.length()];
+
+        for (int plain = 0; plain < key.length; ++plain)
+            key[plain] = mapping[crackedKey.charAt(plain) - 'a'];
+
+        return new String(key);
+    }
+
+    /**
+     * Returns the number of messages in the cache.
+     *
+     * @return the number of messages
+     */
+    public synchronized int size() {
+        return byLetters.size();
+    }
+
+    /**
+     * Forgets every message, including the ones saved to the file.
+     */
+    public synchronized void clear() throws IOException {
+        byLetters.clear();
+        byPattern.clear();
+
+        if (file != null)
+            Files.deleteIfExists(file);
+    }
+
+    /**
+     * Reads back the saved messages, in the order they were cracked. The file is rewritten without the messages
+     * which no longer fit, so that it does not grow forever.
+     */
+    private void load() throws IOException {
+        // each line holds the solver, the letters, the key and the plaintext, separated by tabs
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+        for (String line : lines) {
+            String[] fields = line.split("\t", 4);
+
+            // skip lines which were only partly written
+            if (fields.length == 4)
+                add(new Solution(fields[0], fields[1], fields[3], fields[2]));
+        }
+
+        if (lines.size() > capacity) {
+            List<String> kept = new ArrayList<>();
+
+            for (Solution solution : byLetters.values())
+                kept.add(format(solution));
+
+            Files.write(file, kept, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Appends a cracked message to the file; the cache still works in memory if the file cannot be written.
+     *
+     * @param solution the cracked message
+     */
+    private void append(Solution solution) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(format(solution));
+            writer.newLine();
+        } catch (IOException e) {
+            System.err.println("The cache file " + file + " could not be written; please check the file.");
+        }
+    }
+
+    /**
+     * Returns a cracked message as a line of the file.
+     *
+     * @param solution the cracked message
+     * @return the line, without a line separator
+     */
+    private static String format(Solution solution) {
+        return solution.solver() + "\t" + solution.letters() + "\t" + solution.key() + "\t" + solution.plaintext();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT, "cache: %d of %d messages%s", byLetters.size(), capacity,
+                file == null ? "" : " (saved to " + file + ")");
+    }
+}
@@ -0,0 +1,490 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: A single brute-force crack, run a slice of keys at a time by a CrackScheduler. The crack stops when its
+ *          keys run out, its key budget or deadline is reached, a confident match is found, or it is cancelled.
+ *          Each better match found along the way is published to any subscribers.
+ */
+public class CrackJob {
+
+    // the number of keys tried by one slice before the thread moves on to another job's slice
+    public static final int SLICE_SIZE = 2_048;
+    /*
+        The shortest message whose keys are checked while decoding (see WordTrie.decodeIfSegmentable). Most keys
+        of a shorter message pass the check anyway and then walk the trie a second time to be split, so those
+        keys are decoded whole and split straight away
+     */
+    public static final int MIN_PRECHECK_LENGTH = 32;
+    // the least fraction of a message's letters dictionary words must cover for it to be kept, when scored by coverage
+    public static final double MIN_COVERAGE = 0.6;
+
+    /**
+     * How each decoded message is judged.
+     */
+    public enum Scoring {
+        // the message must split entirely into dictionary words, and longer words score higher
+        SENTENCE,
+        /*
+            the message must be mostly covered by dictionary words, and scores the average length of the word
+            covering each letter (see WordAutomaton.score), so unknown words are allowed
+         */
+        COVERAGE
+    }
+
+    // the encrypted message that we are attempting to decode
+    private final String encodedMessage;
+    // the most keys to try
+    private final long keyBudget;
+    // the System.nanoTime() at which to stop, or Long.MAX_VALUE if there is no time limit
+    private final long deadline;
+    // the seed of the random keys
+    private final long seed;
+    // the language of the message, whose dictionary and letter frequencies are used
+    private final LanguageProfile language;
+    // how each decoded message is judged
+    private final Scoring scoring;
+    // the most likely intelligible message found so far by any slice
+    private final BestMatch bestMatch;
+    // the better matches, as they are found
+    private final SubmissionPublisher<String[]> progress = new SubmissionPublisher<>();
+    // keeps the matches in the order they were found, without holding up finish, fail or cancel
+    private final Object publishLock = new Object();
+    // the most likely match once the crack stops
+    private final CompletableFuture<String[]> result = new CompletableFuture<>();
+    // when the job was created, to measure the whole crack
+    private final long startTime = System.nanoTime();
+
+    /*
+        Set up by the first slice, so that the frequency analysis is also shared out fairly; the other slices only
+        start once it is done
+     */
+    private final AtomicBoolean prepared = new AtomicBoolean();
+    private final Object prepareLock = new Object();
+    private CandidateKeys keys;
+    private char[] encodedLetters;
+    private WordTrie dictionaryTrie;
+    private WordAutomaton wordAutomaton;
+
+    // the index of the next key to hand out to a slice, and the number of keys tried
+    private final AtomicLong nextKey = new AtomicLong();
+    private final AtomicLong keysTried = new AtomicLong();
+    // whether any slice stopped before its last key, because of the deadline, a confident match or cancellation
+    private final AtomicBoolean cutShort = new AtomicBoolean();
+
+    /**
+     * Creates a crack which tries every candidate key.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     */
+    public CrackJob(String encodedMessage) {
+        this(encodedMessage, CandidateKeys.DEFAULT_NUM_OF_KEYS, null, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Creates a crack with limits on how much work it may do.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, counted from now, or null for no limit
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     */
+    public CrackJob(String encodedMessage, long keyBudget, Duration timeLimit, double confidenceThreshold) {
+        this(encodedMessage, keyBudget, timeLimit, confidenceThreshold, CandidateKeys.defaultSeed());
+    }
+
+    /**
+     * Creates a crack with limits on how much work it may do, whose random keys come from a seed. Cracks with the
+     * same seed try the same keys, whatever the number of threads, so a crack which tries all of its keys always
+     * finds the same match.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, counted from now, or null for no limit
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     * @param seed the seed of the random keys
+     */
+    public CrackJob(String encodedMessage, long keyBudget, Duration timeLimit, double confidenceThreshold,
+                    long seed) {
+        this(encodedMessage, LanguageProfile.getDefault(), keyBudget, timeLimit, confidenceThreshold, seed);
+    }
+
+    /**
+     * Creates a crack of a message written in a given language.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, counted from now, or null for no limit
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     * @param seed the seed of the random keys
+     */
+    public CrackJob(String encodedMessage, LanguageProfile language, long keyBudget, Duration timeLimit,
+                    double confidenceThreshold, long seed) {
+        this(encodedMessage, language, Scoring.SENTENCE, keyBudget, timeLimit, confidenceThreshold, seed);
+    }
+
+    /**
+     * Creates a crack of a message written in a given language, judging each decoded message as chosen.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @param scoring how each decoded message is judged
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, counted from now, or null for no limit
+     * @param confidenceThreshold the score at which a decoded message is accepted immediately
+     * @param seed the seed of the random keys
+     */
+    public CrackJob(String encodedMessage, LanguageProfile language, Scoring scoring, long keyBudget,
+                    Duration timeLimit, double confidenceThreshold, long seed) {
+        if (keyBudget <= 0)
+            throw new IllegalArgumentException("The key budget must be positive.");
+
+        this.encodedMessage = encodedMessage;
+        this.keyBudget = keyBudget;
+        this.deadline = timeLimit == null ? Long.MAX_VALUE : startTime + timeLimit.toNanos();
+        this.bestMatch = new BestMatch(confidenceThreshold);
+        this.seed = seed;
+        this.language = language;
+        this.scoring = scoring;
+    }
+
+    /**
+     * Checks if the keys have been prepared, meaning that more than one slice may now run at once.
+     *
+     * @return true once the first slice has run
+     */
+    public boolean isPrepared() {
+        return prepared.get();
+    }
+
+    /**
+     * Tries the next slice of keys. Several slices of the same job may run at once once the job is prepared.
+     *
+     * @return true if the job has more keys to try
+     */
+    boolean runSlice() {
+        // the job was cancelled, or finished by another slice
+        if (result.isDone()) {
+            finish();
+            return false;
+        }
+
+        try {
+            prepare();
+        } catch (IOException | UncheckedIOException e) {
+            fail(e);
+            return false;
+        }
+
+        // the number of keys this job will try in total
+        long numOfKeys = Math.min(keys.size(), keyBudget);
+        long first = nextKey.getAndAdd(SLICE_SIZE);
+        long last = Math.min(first + SLICE_SIZE, numOfKeys);
+        // the keys of this slice, made one at a time into the same array as they are tried
+        Spliterator<byte[]> slice = keys.reusingSpliterator(first, last);
+        // each key is decoded into a buffer owned by this slice
+        char[] decodedLetters = new char[encodedLetters.length];
+        // with the key turned around into a decryption table which is also reused from key to key
+        byte[] inverse = new byte[SubstitutionKey.ALPHABET_SIZE];
+        Consumer<byte[]> tryKey;
+
+        if (scoring == Scoring.COVERAGE) {
+            // and scored with the length of the word ending at each letter in another
+            int[] wordLengths = new int[encodedLetters.length];
+            tryKey = key -> tryKeyByCoverage(key, inverse, decodedLetters, wordLengths);
+        } else
+            tryKey = key -> tryKey(key, inverse, decodedLetters);
+
+        // whether every key of the slice was tried
+        boolean sliceFinished = false;
+
+        try {
+            // stop doing work once the job has stopped for any reason
+            while (!result.isDone() && !bestMatch.isConfident() && System.nanoTime() < deadline)
+                if (!slice.tryAdvance(tryKey)) {
+                    sliceFinished = true;
+                    break;
+                }
+        } catch (RuntimeException e) {
+            fail(e);
+            return false;
+        }
+
+        if (!sliceFinished)
+            cutShort.set(true);
+
+        // every key handed out so far has now been tried or skipped
+        long tried = keysTried.addAndGet(Math.max(0, last - first));
+
+        if (tried >= numOfKeys || bestMatch.isConfident() || System.nanoTime() >= deadline) {
+            finish();
+            return false;
+        }
+
+        return !result.isDone();
+    }
+
+    /**
+     * Prepares the candidate keys and looks up the dictionary, once.
+     */
+    private void prepare() throws IOException {
+        if (prepared.get())
+            return;
+
+        synchronized (prepareLock) {
+            if (prepared.get())
+                return;
+
+            long keyGenerationStart = System.nanoTime();
+
+            // the language's dictionary, shared with every other caller and only read from disk once
+            dictionaryTrie = language.getDictionary().getTrie();
+
+            if (scoring == Scoring.COVERAGE)
+                wordAutomaton = language.getDictionary().getAutomaton();
+
+            // the letters of the message without whitespace (to uniformly decode messages regardless of formatting)
+            encodedLetters = Part1.lettersOf(encodedMessage);
+            keys = CandidateKeys.of(encodedMessage, language, keyBudget, seed);
+
+            CrackMetrics.getInstance().recordKeyGeneration(System.nanoTime() - keyGenerationStart);
+            prepared.set(true);
+        }
+    }
+
+    /**
+     * Decodes the message with one key, and keeps the result if it is the most likely match so far.
+     *
+     * @param key the key to try; its encrypted letter (0-25) for each plaintext letter (0-25), overwritten by the
+     *            next key of the slice
+     * @param inverse the buffer to turn the key into a decryption table in
+     * @param decodedLetters the buffer to decode a short message into, as long as the message
+     */
+    private void tryKey(byte[] key, byte[] inverse, char[] decodedLetters) {
+        CrackMetrics metrics = CrackMetrics.getInstance();
+        long decodingStart = System.nanoTime();
+        String decodedString;
+
+        SubstitutionKey.invert(key, inverse);
+
+        // a short message is split in a single walk of the trie, since most keys would pass the check anyway
+        if (encodedLetters.length < MIN_PRECHECK_LENGTH) {
+            SubstitutionKey.decrypt(inverse, encodedLetters, 0, decodedLetters, 0, encodedLetters.length);
+            decodedString = new String(decodedLetters);
+        } else
+            // decode the message while walking the trie, giving up at the first letter no word can cover
+            decodedString = dictionaryTrie.decodeIfSegmentable(encodedLetters, inverse);
+
+        long segmentationStart = System.nanoTime();
+        metrics.recordDecoding(segmentationStart - decodingStart);
+
+        // most keys of a longer message are rejected here, after only a few letters
+        if (decodedString == null) {
+            metrics.recordKeysEvaluated(1);
+            metrics.recordKeyRejected();
+            return;
+        }
+
+        // separate the single string into a list of separated valid words
+        ArrayList<String> decodedMessage = Functions.formSentence(decodedString, dictionaryTrie);
+
+        long matchSelectionStart = System.nanoTime();
+        metrics.recordSegmentation(matchSelectionStart - segmentationStart);
+        metrics.recordKeysEvaluated(1);
+
+        // check if the function returned a full sentence of valid words
+        if (decodedMessage.size() > 0) {
+            // the words are all valid; keep them if they are the most likely match so far, and say so
+            if (bestMatch.offer(decodedMessage, CandidateKeys.toString(key)))
+                publish();
+
+            metrics.recordMatchSelection(System.nanoTime() - matchSelectionStart);
+        } else
+            metrics.recordKeyRejected();
+    }
+
+    /**
+     * Decodes the message with one key and measures how much of it is covered by dictionary words, keeping it if
+     * it is covered well enough and scores at least as well as the best match so far.
+     *
+     * @param key the key to try; its encrypted letter (0-25) for each plaintext letter (0-25), overwritten by the
+     *            next key of the slice
+     * @param inverse the buffer to turn the key into a decryption table in
+     * @param decodedLetters the buffer to decode the message into, as long as the message
+     * @param wordLengths the buffer to score the message with, as long as the message
+     */
+    private void tryKeyByCoverage(byte[] key, byte[] inverse, char[] decodedLetters, int[] wordLengths) {
+        CrackMetrics metrics = CrackMetrics.getInstance();
+        long decodingStart = System.nanoTime();
+
+        SubstitutionKey.invert(key, inverse);
+        SubstitutionKey.decrypt(inverse, encodedLetters, 0, decodedLetters, 0, encodedLetters.length);
+
+        long segmentationStart = System.nanoTime();
+        metrics.recordDecoding(segmentationStart - decodingStart);
+
+        // one pass over the message, however many words it holds; most keys are rejected here, scoring 0
+        double score = wordAutomaton.score(decodedLetters, WordAutomaton.DEFAULT_MIN_WORD_LENGTH, MIN_COVERAGE,
+                wordLengths);
+        metrics.recordKeysEvaluated(1);
+
+        if (score == 0 || score < bestMatch.getScore()) {
+            metrics.recordSegmentation(System.nanoTime() - segmentationStart);
+            metrics.recordKeyRejected();
+            return;
+        }
+
+        // only the few messages which may be kept are split into words, whole ones if possible
+        ArrayList<String> decodedMessage = Functions.formSentence(new String(decodedLetters), dictionaryTrie);
+
+        if (decodedMessage.isEmpty())
+            decodedMessage = wordAutomaton.split(decodedLetters, WordAutomaton.DEFAULT_MIN_WORD_LENGTH);
+
+        long matchSelectionStart = System.nanoTime();
+        metrics.recordSegmentation(matchSelectionStart - segmentationStart);
+
+        if (bestMatch.offer(decodedMessage, CandidateKeys.toString(key), score))
+            publish();
+
+        metrics.recordMatchSelection(System.nanoTime() - matchSelectionStart);
+    }
+
+    /**
+     * Sends the current best match to the subscribers, unless the job has already stopped. The match is dropped
+     * for any subscriber whose buffer is full, rather than waiting for it: a later match replaces it anyway, and
+     * a slow subscriber must not hold up the slice which found it.
+     */
+    private void publish() {
+        synchronized (publishLock) {
+            try {
+                progress.offer(bestMatch.getResult(), (subscriber, match) -> false);
+            } catch (IllegalStateException e) {
+                // the job stopped while the match was being found; nobody is listening any more
+            }
+        }
+    }
+
+    /**
+     * Completes the job with the best match found, if it has not stopped already.
+     */
+    private synchronized void finish() {
+        if (result.complete(bestMatch.getResult()))
+            CrackMetrics.getInstance().recordCrack(System.nanoTime() - startTime);
+
+        progress.close();
+    }
+
+    /**
+     * Completes the job with an error.
+     *
+     * @param e the error which stopped the job
+     */
+    private synchronized void fail(Exception e) {
+        result.completeExceptionally(e);
+        progress.closeExceptionally(e);
+    }
+
+    /**
+     * Stops the job; slices which are already running stop after their current key.
+     *
+     * @return true if the job was stopped by this call
+     */
+    public synchronized boolean cancel() {
+        boolean cancelled = result.cancel(false);
+        progress.close();
+
+        return cancelled;
+    }
+
+    /**
+     * Returns the better matches as they are found; the stream completes when the job stops. A subscriber which
+     * falls behind misses some of them, but getResult always holds the best one.
+     *
+     * @return the publisher of each new best match and its key
+     */
+    public Flow.Publisher<String[]> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Returns the most likely match, once the job stops.
+     *
+     * @return the future message and key, or an empty array if no intelligible message was found
+     */
+    public CompletableFuture<String[]> getResult() {
+        return result;
+    }
+
+    /**
+     * Returns the most likely match found so far, without waiting.
+     *
+     * @return the message and key, or an empty array if no intelligible message has been found yet
+     */
+    public String[] getBestSoFar() {
+        return bestMatch.getResult();
+    }
+
+    /**
+     * Returns the seed of the random keys, to repeat the crack.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks if the job has stopped after trying every one of its keys, rather than being cut short by its
+     * deadline, a confident match, cancellation or an error; only then is its result the best its keys can give.
+     *
+     * @return true if every key was tried
+     */
+    public boolean triedAllKeys() {
+        return result.isDone() && !result.isCompletedExceptionally() && !cutShort.get();
+    }
+
+    /**
+     * Returns the number of keys tried so far.
+     *
+     * @return the number of keys
+     */
+    public long getKeysTried() {
+        return keysTried.get();
+    }
+
+    /**
+     * Waits for the job to stop and returns the most likely match.
+     *
+     * @return the message and key, or an empty array if no intelligible message was found
+     * @throws IOException if the dictionary or frequency files could not be read
+     * @throws CancellationException if the job was cancelled
+     */
+    public String[] join() throws IOException {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Counts how much work the program does and where the time goes, for every thread at once. The counts
+ *          are registered as the JMX MBean "edu.csulb.cecs378:type=CrackMetrics", and are printed to the error
+ *          stream every few seconds if the "metrics.interval" system property is set (in seconds).
+ */
+public class CrackMetrics implements CrackMetricsMBean {
+
+    // the name the metrics are registered under in JMX
+    public static final String OBJECT_NAME = "edu.csulb.cecs378:type=CrackMetrics";
+    // the system property holding the number of seconds between log lines; no log lines are printed if unset
+    public static final String INTERVAL_PROPERTY = "metrics.interval";
+
+    /**
+     * A histogram of latencies in powers of 2: bucket n counts the latencies from 2^(n-1) up to 2^n - 1
+     * nanoseconds (bucket 0 counts latencies of 0). Recording is a single atomic increment.
+     */
+    public static class Histogram {
+        // one bucket per bit of a long
+        private static final int NUM_OF_BUCKETS = Long.SIZE;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(NUM_OF_BUCKETS);
+
+        /**
+         * Records a single latency.
+         *
+         * @param nanos the latency in nanoseconds
+         */
+        public void record(long nanos) {
+            // the bucket is the number of bits needed to write the latency
+            int bucket = Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, nanos));
+            buckets.incrementAndGet(Math.min(NUM_OF_BUCKETS - 1, bucket));
+        }
+
+        /**
+         * Returns a copy of the count of each bucket.
+         *
+         * @return the bucket counts
+         */
+        public long[] getBuckets() {
+            long[] counts = new long[NUM_OF_BUCKETS];
+
+            for (int i = 0; i < NUM_OF_BUCKETS; ++i)
+                counts[i] = buckets.get(i);
+
+            return counts;
+        }
+
+        /**
+         * Returns the total number of latencies recorded.
+         *
+         * @return the number of latencies
+         */
+        public long getCount() {
+            long count = 0;
+
+            for (int i = 0; i < NUM_OF_BUCKETS; ++i)
+                count += buckets.get(i);
+
+            return count;
+        }
+
+        /**
+         * Returns an upper bound of a percentile: the largest latency of the bucket the percentile falls in.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the upper bound in nanoseconds, or 0 if nothing has been recorded
+         */
+        public long getPercentile(double percentile) {
+            long[] counts = getBuckets();
+            long total = 0;
+
+            for (long count : counts)
+                total += count;
+
+            // the rank of the latency we are looking for, counting from 1
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long seen = 0;
+
+            for (int i = 0; i < NUM_OF_BUCKETS; ++i) {
+                seen += counts[i];
+
+                if (seen >= rank && counts[i] > 0)
+                    return i == 0 ? 0 : (1L << i) - 1;
+            }
+
+            return 0;
+        }
+
+        /**
+         * Clears every bucket.
+         */
+        public void reset() {
+            for (int i = 0; i < NUM_OF_BUCKETS; ++i)
+                buckets.set(i, 0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50<=%.3fms p99<=%.3fms", getCount(), getPercentile(50) / 1_000_000.0,
+                    getPercentile(99) / 1_000_000.0);
+        }
+    }
+
+    // the number of cracks, keys tried, and keys which did not decode into a sentence
+    private final LongAdder cracks = new LongAdder();
+    private final LongAdder keysEvaluated = new LongAdder();
+    private final LongAdder keysRejected = new LongAdder();
+    // the time spent in each stage of cracking, in nanoseconds, summed over every thread
+    private final LongAdder crackNanos = new LongAdder();
+    private final LongAdder keyGenerationNanos = new LongAdder();
+    private final LongAdder decodingNanos = new LongAdder();
+    private final LongAdder segmentationNanos = new LongAdder();
+    private final LongAdder matchSelectionNanos = new LongAdder();
+    // the time spent loading dictionaries, in nanoseconds
+    private final LongAdder dictionaryLoadNanos = new LongAdder();
+    // the cracks answered by the cache, by letters or by letter pattern, and the ones which had to search
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cachePatternHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    // the cracks answered by the affine fast path, and the ones which went on to a full search
+    private final LongAdder fastPathHits = new LongAdder();
+    private final LongAdder fastPathMisses = new LongAdder();
+    // the latency of each crack, encryption and decryption
+    private final Histogram crackLatency = new Histogram();
+    private final Histogram encryptLatency = new Histogram();
+    private final Histogram decryptLatency = new Histogram();
+
+    // the number of keys evaluated at the last log line, and when it was printed
+    private long lastKeysEvaluated = 0;
+    private long lastReportTime = System.nanoTime();
+
+    /**
+     * Holds the process-wide metrics; they are registered with JMX on first use.
+     */
+    private static class Holder {
+        private static final CrackMetrics INSTANCE = create();
+    }
+
+    private CrackMetrics() {
+    }
+
+    /**
+     * Returns the process-wide metrics.
+     *
+     * @return the shared metrics
+     */
+    public static CrackMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the metrics, registers them with JMX, and starts the log line if one was asked for.
+     *
+     * @return the new metrics
+     */
+    private static CrackMetrics create() {
+        CrackMetrics metrics = new CrackMetrics();
+
+        // metrics are still counted without JMX (ex: if another copy already registered the name)
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException ignored) {
+        }
+
+        String interval = System.getProperty(INTERVAL_PROPERTY);
+
+        if (interval != null) {
+            try {
+                metrics.startReporting(Long.parseLong(interval), System.err);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring " + INTERVAL_PROPERTY + "=" + interval +
+                        "; expected a positive number of seconds.");
+            }
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Prints a summary line at a fixed rate from a background thread, which does not keep the program running.
+     *
+     * @param seconds the number of seconds between lines
+     * @param out where to print the lines
+     */
+    public void startReporting(long seconds, PrintStream out) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "crack-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.scheduleAtFixedRate(() -> out.println(nextLogLine()), seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the log line, with the rate of keys evaluated since the previous line.
+     *
+     * @return the log line
+     */
+    private synchronized String nextLogLine() {
+        long now = System.nanoTime();
+        long keys = keysEvaluated.sum();
+        double rate = (keys - lastKeysEvaluated) / ((now - lastReportTime) / 1_000_000_000.0);
+
+        lastKeysEvaluated = keys;
+        lastReportTime = now;
+
+        return String.format("[metrics] %.0f keys/s, %s", rate, getSummary());
+    }
+
+    /**
+     * Records a finished crack.
+     *
+     * @param nanos how long the crack took
+     */
+    public void recordCrack(long nanos) {
+        cracks.increment();
+        crackNanos.add(nanos);
+        crackLatency.record(nanos);
+    }
+
+    /**
+     * Records keys which were tried.
+     *
+     * @param numOfKeys the number of keys
+     */
+    public void recordKeysEvaluated(long numOfKeys) {
+        keysEvaluated.add(numOfKeys);
+    }
+
+    /**
+     * Records a key which did not decode the message into a sentence of dictionary words.
+     */
+    public void recordKeyRejected() {
+        keysRejected.increment();
+    }
+
+    /**
+     * Records time spent generating candidate keys.
+     *
+     * @param nanos the time spent
+     */
+    public void recordKeyGeneration(long nanos) {
+        keyGenerationNanos.add(nanos);
+    }
+
+    /**
+     * Records time spent decoding messages with candidate keys.
+     *
+     * @param nanos the time spent
+     */
+    public void recordDecoding(long nanos) {
+        decodingNanos.add(nanos);
+    }
+
+    /**
+     * Records time spent splitting decoded messages into words.
+     *
+     * @param nanos the time spent
+     */
+    public void recordSegmentation(long nanos) {
+        segmentationNanos.add(nanos);
+    }
+
+    /**
+     * Records time spent choosing the most likely match among the decoded messages.
+     *
+     * @param nanos the time spent
+     */
+    public void recordMatchSelection(long nanos) {
+        matchSelectionNanos.add(nanos);
+    }
+
+    /**
+     * Records the time it took to load a dictionary.
+     *
+     * @param nanos the time spent
+     */
+    public void recordDictionaryLoad(long nanos) {
+        dictionaryLoadNanos.add(nanos);
+    }
+
+    /**
+     * Records a crack answered by the cache.
+     *
+     * @param byPattern whether the message only matched a cached message's letter pattern
+     */
+    public void recordCacheHit(boolean byPattern) {
+        if (byPattern)
+            cachePatternHits.increment();
+        else
+            cacheHits.increment();
+    }
+
+    /**
+     * Records a crack which was not in the cache.
+     */
+    public void recordCacheMiss() {
+        cacheMisses.increment();
+    }
+
+    /**
+     * Records a crack which tried the affine fast path.
+     *
+     * @param solved whether the fast path answered the crack, so that no full search was needed
+     */
+    public void recordFastPath(boolean solved) {
+        if (solved)
+            fastPathHits.increment();
+        else
+            fastPathMisses.increment();
+    }
+
+    /**
+     * Records the latency of an encryption.
+     *
+     * @param nanos how long the encryption took
+     */
+    public void recordEncrypt(long nanos) {
+        encryptLatency.record(nanos);
+    }
+
+    /**
+     * Records the latency of a decryption.
+     *
+     * @param nanos how long the decryption took
+     */
+    public void recordDecrypt(long nanos) {
+        decryptLatency.record(nanos);
+    }
+
+    @Override
+    public long getCracks() {
+        return cracks.sum();
+    }
+
+    @Override
+    public long getKeysEvaluated() {
+        return keysEvaluated.sum();
+    }
+
+    @Override
+    public long getKeysRejected() {
+        return keysRejected.sum();
+    }
+
+    /**
+     * Returns the number of keys evaluated per second of cracking, over every crack so far.
+     *
+     * @return the rate of keys evaluated
+     */
+    @Override
+    public double getKeysPerSecond() {
+        long nanos = crackNanos.sum();
+        return nanos == 0 ? 0 : keysEvaluated.sum() / (nanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public double getKeyGenerationMillis() {
+        return keyGenerationNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public double getDecodingMillis() {
+        return decodingNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public double getSegmentationMillis() {
+        return segmentationNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public double getMatchSelectionMillis() {
+        return matchSelectionNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public double getDictionaryLoadMillis() {
+        return dictionaryLoadNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCachePatternHits() {
+        return cachePatternHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public long getFastPathHits() {
+        return fastPathHits.sum();
+    }
+
+    @Override
+    public long getFastPathMisses() {
+        return fastPathMisses.sum();
+    }
+
+    @Override
+    public long getEncryptCount() {
+        return encryptLatency.getCount();
+    }
+
+    @Override
+    public long getDecryptCount() {
+        return decryptLatency.getCount();
+    }
+
+    @Override
+    public long[] getCrackLatencyHistogram() {
+        return crackLatency.getBuckets();
+    }
+
+    @Override
+    public long[] getEncryptLatencyHistogram() {
+        return encryptLatency.getBuckets();
+    }
+
+    @Override
+    public long[] getDecryptLatencyHistogram() {
+        return decryptLatency.getBuckets();
+    }
+
+    @Override
+    public String getSummary() {
+        return String.format("cracks=%d keys=%d rejected=%d (%.0f keys/s while cracking) | time: " +
+                        "keygen=%.1fms decode=%.1fms segment=%.1fms match=%.1fms dictionary=%.1fms | " +
+                        "cache hits=%d pattern=%d misses=%d | fast path hits=%d misses=%d | crack %s | " +
+                        "encrypt %s | decrypt %s",
+                getCracks(), getKeysEvaluated(), getKeysRejected(), getKeysPerSecond(), getKeyGenerationMillis(),
+                getDecodingMillis(), getSegmentationMillis(), getMatchSelectionMillis(), getDictionaryLoadMillis(),
+                getCacheHits(), getCachePatternHits(), getCacheMisses(), getFastPathHits(), getFastPathMisses(),
+                crackLatency, encryptLatency, decryptLatency);
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : new LongAdder[] {cracks, keysEvaluated, keysRejected, crackNanos, keyGenerationNanos,
+                decodingNanos, segmentationNanos, matchSelectionNanos, dictionaryLoadNanos, cacheHits,
+                cachePatternHits, cacheMisses, fastPathHits, fastPathMisses})
+            adder.reset();
+
+        crackLatency.reset();
+        encryptLatency.reset();
+        decryptLatency.reset();
+    }
+}
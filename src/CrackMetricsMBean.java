@@ -0,0 +1,51 @@
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: The attributes and operations of CrackMetrics that are visible through JMX.
+ */
+public interface CrackMetricsMBean {
+
+    long getCracks();
+
+    long getKeysEvaluated();
+
+    long getKeysRejected();
+
+    double getKeysPerSecond();
+
+    double getKeyGenerationMillis();
+
+    double getDecodingMillis();
+
+    double getSegmentationMillis();
+
+    double getMatchSelectionMillis();
+
+    double getDictionaryLoadMillis();
+
+    long getCacheHits();
+
+    long getCachePatternHits();
+
+    long getCacheMisses();
+
+    long getFastPathHits();
+
+    long getFastPathMisses();
+
+    long getEncryptCount();
+
+    long getDecryptCount();
+
+    long[] getCrackLatencyHistogram();
+
+    long[] getEncryptLatencyHistogram();
+
+    long[] getDecryptLatencyHistogram();
+
+    String getSummary();
+
+    void reset();
+}
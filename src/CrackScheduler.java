@@ -0,0 +1,112 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Runs many cracks on one shared pool of threads. Each job runs a slice of keys at a time, and goes to the
+ *          back of the queue after each slice, so a hard message which tries every key cannot keep a short one
+ *          waiting for longer than a slice per thread.
+ */
+public class CrackScheduler {
+
+    // the pool which runs every slice, in the order they were queued
+    private final ExecutorService pool;
+    // the most slices of one job that may be queued or running at once
+    private final int parallelism;
+
+    /**
+     * Holds the scheduler shared by the whole program, with a thread for each core.
+     */
+    private static class Holder {
+        private static final CrackScheduler INSTANCE =
+                new CrackScheduler(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a scheduler with its own threads, which do not keep the program running.
+     *
+     * @param numOfThreads the number of threads, and the most slices of one job that may run at once
+     */
+    public CrackScheduler(int numOfThreads) {
+        if (numOfThreads <= 0)
+            throw new IllegalArgumentException("The number of threads must be positive.");
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.parallelism = numOfThreads;
+        this.pool = new ThreadPoolExecutor(numOfThreads, numOfThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "crack-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the scheduler shared by the whole program.
+     *
+     * @return the shared scheduler
+     */
+    public static CrackScheduler getShared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts running a job; its result and progress are available from the job itself.
+     *
+     * @param job the job to run
+     * @return the same job
+     */
+    public CrackJob submit(CrackJob job) {
+        // a single slice generates the keys first; the rest of the slices are queued once it is done
+        schedule(job);
+        return job;
+    }
+
+    /**
+     * Queues a slice of a job behind every slice already waiting; a job left with slices to run once the
+     * scheduler has shut down is cancelled.
+     *
+     * @param job the job to run a slice of
+     */
+    private void schedule(CrackJob job) {
+        try {
+            pool.execute(() -> runSlice(job));
+        } catch (RejectedExecutionException e) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Runs one slice of a job, then queues its next slice if it has more work; the job's first slice also queues
+     * the slices which run alongside it.
+     *
+     * @param job the job to run a slice of
+     */
+    private void runSlice(CrackJob job) {
+        boolean firstSlice = !job.isPrepared();
+
+        if (!job.runSlice())
+            return;
+
+        schedule(job);
+
+        if (firstSlice)
+            for (int i = 1; i < parallelism; ++i)
+                schedule(job);
+    }
+
+    /**
+     * Stops the threads once the queued slices have run.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
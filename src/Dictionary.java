@@ -0,0 +1,299 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Loads the dictionary file once and shares the resulting words with every caller.
+ */
+public class Dictionary {
+
+    /*
+        Dictionary source from Gwicks:
+        http://www.gwicks.net/dictionaries.htm
+     */
+    public static final String DEFAULT_FILE = "dictionary.txt";
+
+    // the parsed dictionary words; wrapped so that concurrent callers cannot modify the shared set
+    private volatile Set<String> words;
+    // the precompiled dictionary, or null if the dictionary was parsed from the text file
+    private final DictionarySnapshot snapshot;
+    // the dictionary words as a prefix tree, used to split messages into words
+    private final WordTrie trie;
+    // the dictionary words grouped by letter pattern, or null until they are first asked for
+    private volatile Map<String, List<String>> patternIndex;
+    // the Aho-Corasick automaton of the trie, or null until it is first asked for
+    private volatile WordAutomaton automaton;
+    // the candidate keys built from the words alone (see CandidateKeys), or null until they are first asked for
+    private volatile byte[] structuredKeys;
+    // the name of the file the words were read from
+    private final String fileName;
+    // the time it took to read and parse the dictionary file, in nanoseconds
+    private final long loadTimeNanos;
+
+    // the dictionary built from the default file, or null until it has been loaded
+    private static volatile Dictionary instance;
+
+    private Dictionary(String fileName, Set<String> words, long startTime) {
+        this.fileName = fileName;
+        this.words = Collections.unmodifiableSet(words);
+        this.snapshot = null;
+        this.trie = WordTrie.build(words);
+        this.loadTimeNanos = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordDictionaryLoad(loadTimeNanos);
+    }
+
+    private Dictionary(String fileName, DictionarySnapshot snapshot, long startTime) {
+        this.fileName = fileName;
+        this.snapshot = snapshot;
+
+        // build the trie straight from the mapped words, without creating a String for each of them
+        WordTrie.Builder builder = new WordTrie.Builder();
+        snapshot.forEachWord(builder::add);
+        this.trie = builder.build();
+        this.loadTimeNanos = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordDictionaryLoad(loadTimeNanos);
+    }
+
+    /**
+     * Returns the process-wide dictionary built from the default dictionary file, loading it on first use. If
+     * the file cannot be read, nothing is kept, so the next call tries to load it again.
+     *
+     * @return the shared dictionary
+     */
+    public static Dictionary getInstance() throws IOException {
+        Dictionary current = instance;
+
+        if (current == null) {
+            synchronized (Dictionary.class) {
+                current = instance;
+
+                if (current == null)
+                    instance = current = load(DEFAULT_FILE);
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Reads a dictionary file and returns a new, independent dictionary for it. If the file has an up-to-date
+     * snapshot (see DictionarySnapshot), the snapshot is memory-mapped instead of parsing the text.
+     *
+     * @param fileName the name of the dictionary file to read from
+     * @return the loaded dictionary
+     */
+    public static Dictionary load(String fileName) throws IOException {
+        // lazy way to estimate the load time
+        long startTime = System.nanoTime();
+        Path textFile = Path.of(fileName);
+        Path snapshotFile = DictionarySnapshot.snapshotFileFor(fileName);
+
+        // only trust the snapshot if the text file has not been changed since it was compiled
+        if (Files.isRegularFile(snapshotFile) && (!Files.exists(textFile) ||
+                Files.getLastModifiedTime(snapshotFile).compareTo(Files.getLastModifiedTime(textFile)) >= 0))
+            return new Dictionary(fileName, DictionarySnapshot.open(snapshotFile), startTime);
+
+        return new Dictionary(fileName, Functions.readWordsFromDictionary(fileName), startTime);
+    }
+
+    /**
+     * Returns a rough estimate of the heap used by a set of Strings, counting the String objects, their
+     * backing arrays, and the hash table entries that hold them.
+     *
+     * @param words the set of words to measure
+     * @return the estimated number of bytes
+     */
+    private static long estimateBytes(Set<String> words) {
+        // object header + hash + coder + array reference, rounded to 8 bytes
+        final int stringOverhead = 24;
+        // array header + length, rounded to 8 bytes
+        final int arrayOverhead = 16;
+        // a HashMap node (header, hash, key, value, next) plus its slot in the table
+        final int entryOverhead = 32 + 8;
+
+        long total = 0;
+
+        for (String word : words) {
+            // Latin-1 Strings store one byte per character, padded to the next multiple of 8
+            int arrayBytes = (arrayOverhead + word.length() + 7) & ~7;
+            total += stringOverhead + arrayBytes + entryOverhead;
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns the words of the dictionary as a read-only set. A dictionary loaded from a snapshot only creates
+     * the set the first time it is asked for.
+     *
+     * @return the dictionary words
+     */
+    public Set<String> getWords() {
+        Set<String> result = words;
+
+        if (result == null) {
+            synchronized (this) {
+                result = words;
+
+                if (result == null) {
+                    Set<String> retrievedWords = new HashSet<>(snapshot.size() * 4 / 3 + 1);
+                    snapshot.forEachWord(word -> retrievedWords.add(word.toString()));
+                    words = result = Collections.unmodifiableSet(retrievedWords);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the words of the dictionary grouped by their letter pattern (see Functions.getWordPattern),
+     * building the groups the first time they are asked for.
+     *
+     * @return the read-only groups of words, by letter pattern
+     */
+    public Map<String, List<String>> getPatternIndex() {
+        Map<String, List<String>> result = patternIndex;
+
+        if (result == null) {
+            synchronized (this) {
+                result = patternIndex;
+
+                if (result == null)
+                    patternIndex = result = Functions.groupWordsByPattern(getWords());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the words of the dictionary as a prefix tree.
+     *
+     * @return the dictionary trie
+     */
+    public WordTrie getTrie() {
+        return trie;
+    }
+
+    /**
+     * Returns the dictionary words as an Aho-Corasick automaton, used to measure how much of a message they cover,
+     * building it the first time it is asked for.
+     *
+     * @return the word automaton
+     */
+    public WordAutomaton getAutomaton() {
+        WordAutomaton result = automaton;
+
+        if (result == null) {
+            synchronized (this) {
+                result = automaton;
+
+                if (result == null)
+                    automaton = result = WordAutomaton.build(trie);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the keys the brute-force search tries before its random keys, which only depend on the dictionary
+     * words (see CandidateKeys), building them the first time they are asked for. They are kept with the
+     * dictionary, so cracks in different languages do not rebuild each other's keys.
+     *
+     * @return the structured keys, 26 bytes each; not to be modified
+     */
+    byte[] getStructuredKeys() {
+        byte[] result = structuredKeys;
+
+        if (result == null) {
+            synchronized (this) {
+                result = structuredKeys;
+
+                if (result == null)
+                    structuredKeys = result = CandidateKeys.buildStructuredKeys(trie);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if the word is in the dictionary.
+     *
+     * @param word the word to look up
+     * @return true if the word is a dictionary word
+     */
+    public boolean contains(String word) {
+        // search the mapped snapshot directly rather than building the set
+        return snapshot != null ? snapshot.contains(word) : words.contains(word);
+    }
+
+    /**
+     * Returns the number of words in the dictionary.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return snapshot != null ? snapshot.size() : words.size();
+    }
+
+    /**
+     * Checks if the dictionary was loaded from a precompiled snapshot.
+     *
+     * @return true if the dictionary is backed by a snapshot
+     */
+    public boolean isSnapshot() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns the name of the file the dictionary was read from.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the time it took to read and parse the dictionary file.
+     *
+     * @return the load time in nanoseconds
+     */
+    public long getLoadTimeNanos() {
+        return loadTimeNanos;
+    }
+
+    /**
+     * Returns the approximate heap footprint of the dictionary: the trie, plus the word set, automaton and
+     * structured keys if they were created. A snapshot itself is mapped outside of the heap.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        Set<String> currentWords = words;
+        WordAutomaton currentAutomaton = automaton;
+        byte[] currentKeys = structuredKeys;
+        return trie.getEstimatedBytes() + (currentWords == null ? 0 : estimateBytes(currentWords)) +
+                (currentAutomaton == null ? 0 : currentAutomaton.getEstimatedBytes()) +
+                (currentKeys == null ? 0 : currentKeys.length + 16);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%s: %d words, loaded in %.3f ms, ~%.1f MB", fileName,
+                snapshot == null ? "" : " (snapshot)", size(), loadTimeNanos / 1_000_000.0,
+                getEstimatedBytes() / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,301 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: A precompiled, memory-mapped copy of the dictionary which can be searched without parsing the text
+ *          file or creating an object per word.
+ *
+ * File layout (all integers are big-endian):
+ *      int    magic number ('DICT')
+ *      int    format version
+ *      int    the length of the longest word, L
+ *      L x    (int offset, int count) of the bucket of words of each length 1 to L
+ *      bytes  the words of each bucket, sorted and packed back to back without separators
+ */
+public class DictionarySnapshot {
+
+    // identifies the file as a dictionary snapshot
+    private static final int MAGIC = 0x44494354;
+    // the version of the file layout
+    private static final int VERSION = 1;
+    // the size of the header before the bucket table
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    // the mapped file; only absolute reads are used, so it can be shared by every thread
+    private final ByteBuffer buffer;
+    // the offset and count of each bucket of words, indexed by word length
+    private final int[] bucketOffset;
+    private final int[] bucketCount;
+    // the total number of words
+    private final int size;
+
+    private DictionarySnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION)
+            throw new IOException("Not a dictionary snapshot, or an unsupported version");
+
+        int maxWordLength = buffer.getInt(2 * Integer.BYTES);
+        bucketOffset = new int[maxWordLength + 1];
+        bucketCount = new int[maxWordLength + 1];
+        int total = 0;
+
+        for (int length = 1; length <= maxWordLength; ++length) {
+            int entry = HEADER_SIZE + (length - 1) * 2 * Integer.BYTES;
+
+            bucketOffset[length] = buffer.getInt(entry);
+            bucketCount[length] = buffer.getInt(entry + Integer.BYTES);
+            total += bucketCount[length];
+        }
+
+        size = total;
+    }
+
+    /**
+     * Memory-maps a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     */
+    public static DictionarySnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new DictionarySnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the snapshot file which belongs to a dictionary text file (ex: dictionary.txt -> dictionary.bin).
+     *
+     * @param textFileName the name of the dictionary text file
+     * @return the path of the snapshot file
+     */
+    public static Path snapshotFileFor(String textFileName) {
+        int extension = textFileName.lastIndexOf('.');
+        String baseName = extension > 0 ? textFileName.substring(0, extension) : textFileName;
+
+        return Path.of(baseName + ".bin");
+    }
+
+    /**
+     * Reads a dictionary text file and writes its snapshot. Only words made entirely of lowercase letters
+     * a-z are kept, the same as the dictionary trie.
+     *
+     * @param textFileName the name of the dictionary file to read from
+     * @param snapshotFile the snapshot file to write; replaced if it exists
+     * @return the number of words written
+     */
+    public static int compile(String textFileName, Path snapshotFile) throws IOException {
+
+        Set<String> words = Functions.readWordsFromDictionary(textFileName);
+        // the words of each length; index 0 is never used
+        List<List<String>> buckets = new ArrayList<>();
+        int maxWordLength = 0;
+
+        for (String word : words) {
+            if (!word.chars().allMatch(c -> c >= 'a' && c <= 'z'))
+                continue;
+
+            while (buckets.size() <= word.length())
+                buckets.add(new ArrayList<>());
+
+            buckets.get(word.length()).add(word);
+            maxWordLength = Math.max(maxWordLength, word.length());
+        }
+
+        int numOfWords = 0;
+
+        try (OutputStream file = Files.newOutputStream(snapshotFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(maxWordLength);
+
+            // the words start right after the bucket table
+            int offset = HEADER_SIZE + maxWordLength * 2 * Integer.BYTES;
+
+            for (int length = 1; length <= maxWordLength; ++length) {
+                List<String> bucket = buckets.get(length);
+                Collections.sort(bucket);
+
+                out.writeInt(offset);
+                out.writeInt(bucket.size());
+                offset += length * bucket.size();
+            }
+
+            for (int length = 1; length <= maxWordLength; ++length) {
+                for (String word : buckets.get(length)) {
+                    out.writeBytes(word);
+                    ++numOfWords;
+                }
+            }
+        }
+
+        return numOfWords;
+    }
+
+    /**
+     * Checks if the characters are a dictionary word, by binary search over the words of the same length.
+     *
+     * @param text the text containing the word
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @return true if the characters are a dictionary word
+     */
+    public boolean contains(CharSequence text, int start, int end) {
+        int length = end - start;
+
+        if (length <= 0 || length >= bucketOffset.length || bucketCount[length] == 0)
+            return false;
+
+        int low = 0;
+        int high = bucketCount[length] - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(bucketOffset[length] + middle * length, text, start, length);
+
+            if (comparison < 0)
+                low = middle + 1;
+            else if (comparison > 0)
+                high = middle - 1;
+            else
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the String is a dictionary word.
+     *
+     * @param word the word to look up
+     * @return true if the word is in the snapshot
+     */
+    public boolean contains(CharSequence word) {
+        return contains(word, 0, word.length());
+    }
+
+    /**
+     * Compares the packed word at an offset with characters of the text.
+     *
+     * @return a negative number, zero, or a positive number if the packed word is less than, equal to, or
+     *         greater than the characters
+     */
+    private int compare(int offset, CharSequence text, int start, int length) {
+        for (int i = 0; i < length; ++i) {
+            int difference = (buffer.get(offset + i) & 0xff) - text.charAt(start + i);
+
+            if (difference != 0)
+                return difference;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Passes every word to the action, shortest first. The same reusable view is passed each time (so no object
+     * is created per word); call toString() on it to keep a word.
+     *
+     * @param action the action to run for each word
+     */
+    public void forEachWord(Consumer<CharSequence> action) {
+        WordView view = new WordView();
+
+        for (int length = 1; length < bucketOffset.length; ++length) {
+            for (int i = 0; i < bucketCount[length]; ++i) {
+                view.offset = bucketOffset[length] + i * length;
+                view.length = length;
+                action.accept(view);
+            }
+        }
+    }
+
+    /**
+     * A word inside of the mapped file, read one byte per character.
+     */
+    private class WordView implements CharSequence {
+        private int offset;
+        private int length;
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+
+            for (int i = 0; i < length; ++i)
+                bytes[i] = buffer.get(offset + i);
+
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Returns the number of words in the snapshot.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the size of the mapped file, which lives outside of the heap.
+     *
+     * @return the size in bytes
+     */
+    public long getMappedBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Compiles a dictionary text file into a snapshot from the command line.
+     *
+     * @param args the dictionary text file (default: dictionary.txt) and the snapshot file (default: the text
+     *             file's name with a .bin extension)
+     */
+    public static void main(String[] args) {
+        String textFileName = args.length > 0 ? args[0] : Dictionary.DEFAULT_FILE;
+        Path snapshotFile = args.length > 1 ? Path.of(args[1]) : snapshotFileFor(textFileName);
+
+        // handle I/O exceptions
+        try {
+            int numOfWords = compile(textFileName, snapshotFile);
+            System.out.println("Wrote " + numOfWords + " words to " + snapshotFile);
+        } catch (IOException e) {
+            System.out.println("The text file could not be read; please check the file and try again.");
+        }
+    }
+}
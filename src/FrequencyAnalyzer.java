@@ -0,0 +1,356 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Counts letters and n-grams (groups of 2-4 consecutive letters) of a message in a single pass, and
+ *          compares them to the reference frequencies of a language.
+ */
+public class FrequencyAnalyzer {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the longest n-grams that can be counted
+    public static final int MAX_N = 4;
+
+    // the reference profiles that have already been read, by file name
+    private static final Map<String, Profile> PROFILES = new ConcurrentHashMap<>();
+
+    /**
+     * The frequencies of each letter in a language, read from a file with one "letter percentage" line per
+     * letter, from most to least frequent.
+     */
+    public static class Profile {
+        // the letters (0-25) from most to least frequent
+        private final int[] rankedLetters = new int[ALPHABET_SIZE];
+        // the frequency of each letter (0-25), as a fraction of all letters
+        private final double[] frequencies = new double[ALPHABET_SIZE];
+
+        private Profile(String fileName) throws IOException {
+            ArrayList<String> lines = Functions.readLines(fileName);
+
+            for (int rank = 0; rank < ALPHABET_SIZE; ++rank) {
+                // each line holds a letter and its frequency, separated by a space
+                String[] splitLine = lines.get(rank).split(" ");
+                int letter = splitLine[0].charAt(0) - 'a';
+
+                rankedLetters[rank] = letter;
+                frequencies[letter] = Double.parseDouble(splitLine[1]) / 100;
+            }
+        }
+
+        /**
+         * Returns the letter (0-25) with the given frequency rank.
+         *
+         * @param rank 0 for the most frequent letter, up to 25 for the least frequent
+         * @return the letter
+         */
+        public int letterAt(int rank) {
+            return rankedLetters[rank];
+        }
+
+        /**
+         * Returns the frequency of a letter, as a fraction of all letters.
+         *
+         * @param letter the letter, 0-25
+         * @return the frequency of the letter
+         */
+        public double frequency(int letter) {
+            return frequencies[letter];
+        }
+    }
+
+    // the longest n-grams counted by this analyzer
+    private final int maxN;
+    // the number of times each letter, bigram, trigram and quadgram appeared; indexed by their base-26 value
+    private final int[] letters = new int[ALPHABET_SIZE];
+    private final int[] bigrams;
+    private final int[] trigrams;
+    private final int[] quadgrams;
+    // the total number of letters counted
+    private long total = 0;
+    // the base-26 value of the last 3 letters counted, so that n-grams continue from one update to the next
+    private int history = 0;
+    // the number of letters since the last reset, up to MAX_N (the history is only valid once it is full)
+    private int historyLength = 0;
+
+    /**
+     * Creates an analyzer which only counts single letters.
+     */
+    public FrequencyAnalyzer() {
+        this(1);
+    }
+
+    /**
+     * Creates an analyzer which counts single letters and n-grams up to the given length.
+     *
+     * @param maxN the longest n-grams to count, 1-4
+     */
+    public FrequencyAnalyzer(int maxN) {
+        if (maxN < 1 || maxN > MAX_N)
+            throw new IllegalArgumentException("N-grams can only be counted up to " + MAX_N + " letters: " + maxN);
+
+        this.maxN = maxN;
+        bigrams = maxN >= 2 ? new int[ALPHABET_SIZE * ALPHABET_SIZE] : null;
+        trigrams = maxN >= 3 ? new int[ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE] : null;
+        quadgrams = maxN >= 4 ? new int[ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE] : null;
+    }
+
+    /**
+     * Returns the reference profile stored in a file, reading the file only the first time it is asked for.
+     *
+     * @param fileName the name of the file to read the frequencies of each letter
+     * @return the reference profile
+     */
+    public static Profile profile(String fileName) throws IOException {
+        try {
+            return PROFILES.computeIfAbsent(fileName, name -> {
+                try {
+                    return new Profile(name);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Counts a single letter (0-25), and the n-grams it ends.
+     *
+     * @param letter the letter to count
+     */
+    private void count(int letter) {
+        ++letters[letter];
+        ++total;
+
+        // the n-grams ending with this letter are the last 1-3 letters of the history followed by it
+        if (maxN >= 2 && historyLength >= 1)
+            ++bigrams[(history % ALPHABET_SIZE) * ALPHABET_SIZE + letter];
+        if (maxN >= 3 && historyLength >= 2)
+            ++trigrams[(history % (ALPHABET_SIZE * ALPHABET_SIZE)) * ALPHABET_SIZE + letter];
+        if (maxN >= 4 && historyLength >= 3)
+            ++quadgrams[history * ALPHABET_SIZE + letter];
+
+        history = (history % (ALPHABET_SIZE * ALPHABET_SIZE)) * ALPHABET_SIZE + letter;
+
+        if (historyLength < MAX_N)
+            ++historyLength;
+    }
+
+    /**
+     * Counts a character; lowercase and uppercase letters are counted the same, and everything else is skipped
+     * (so n-grams continue across spaces and punctuation).
+     *
+     * @param c the character to count
+     */
+    public void update(char c) {
+        if (c >= 'a' && c <= 'z')
+            count(c - 'a');
+        else if (c >= 'A' && c <= 'Z')
+            count(c - 'A');
+    }
+
+    /**
+     * Counts every character of the text.
+     *
+     * @param text the text to count
+     */
+    public void update(CharSequence text) {
+        // store the length to prevent excessive method calls within the loop
+        int textLength = text.length();
+
+        for (int i = 0; i < textLength; ++i)
+            update(text.charAt(i));
+    }
+
+    /**
+     * Counts a run of ASCII bytes.
+     *
+     * @param bytes the bytes to count
+     * @param offset the index of the first byte
+     * @param length the number of bytes to count
+     */
+    public void update(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; ++i)
+            update((char) (bytes[i] & 0xff));
+    }
+
+    /**
+     * Counts the remaining ASCII bytes of a buffer, leaving the buffer's position at its limit.
+     *
+     * @param buffer the buffer to count
+     */
+    public void update(ByteBuffer buffer) {
+        while (buffer.hasRemaining())
+            update((char) (buffer.get() & 0xff));
+    }
+
+    /**
+     * Ends the current run of text, so that the next update does not form n-grams with the letters before it.
+     */
+    public void breakSequence() {
+        history = 0;
+        historyLength = 0;
+    }
+
+    /**
+     * Clears every count.
+     */
+    public void reset() {
+        Arrays.fill(letters, 0);
+
+        if (bigrams != null)
+            Arrays.fill(bigrams, 0);
+        if (trigrams != null)
+            Arrays.fill(trigrams, 0);
+        if (quadgrams != null)
+            Arrays.fill(quadgrams, 0);
+
+        total = 0;
+        breakSequence();
+    }
+
+    /**
+     * Returns the total number of letters counted.
+     *
+     * @return the number of letters
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of times a letter appeared.
+     *
+     * @param letter the letter, 0-25
+     * @return the count of the letter
+     */
+    public int getCount(int letter) {
+        return letters[letter];
+    }
+
+    /**
+     * Returns the number of times a bigram appeared.
+     *
+     * @param a the first letter, 0-25
+     * @param b the second letter, 0-25
+     * @return the count of the bigram
+     */
+    public int getCount(int a, int b) {
+        return bigrams[a * ALPHABET_SIZE + b];
+    }
+
+    /**
+     * Returns the number of times a trigram appeared.
+     *
+     * @param a the first letter, 0-25
+     * @param b the second letter, 0-25
+     * @param c the third letter, 0-25
+     * @return the count of the trigram
+     */
+    public int getCount(int a, int b, int c) {
+        return trigrams[(a * ALPHABET_SIZE + b) * ALPHABET_SIZE + c];
+    }
+
+    /**
+     * Returns the number of times a quadgram appeared.
+     *
+     * @param a the first letter, 0-25
+     * @param b the second letter, 0-25
+     * @param c the third letter, 0-25
+     * @param d the fourth letter, 0-25
+     * @return the count of the quadgram
+     */
+    public int getCount(int a, int b, int c, int d) {
+        return quadgrams[((a * ALPHABET_SIZE + b) * ALPHABET_SIZE + c) * ALPHABET_SIZE + d];
+    }
+
+    /**
+     * Returns a copy of the counts of the n-grams of a given length, indexed by their base-26 value.
+     *
+     * @param n the length of the n-grams, up to the analyzer's maximum
+     * @return the counts
+     */
+    public int[] getCounts(int n) {
+        return switch (n) {
+            case 1 -> letters.clone();
+            case 2 -> bigrams.clone();
+            case 3 -> trigrams.clone();
+            case 4 -> quadgrams.clone();
+            default -> throw new IllegalArgumentException("Not counted by this analyzer: " + n + "-grams");
+        };
+    }
+
+    /**
+     * Returns the letters (0-25) from most to least frequent; letters that appeared equally often stay in
+     * alphabetical order.
+     *
+     * @return the ranked letters
+     */
+    public int[] rankedLetters() {
+        int[] ranked = new int[ALPHABET_SIZE];
+
+        for (int i = 0; i < ALPHABET_SIZE; ++i) {
+            int letter = i;
+            int j = i;
+
+            // insertion sort by descending count; it is stable, so ties keep their alphabetical order
+            while (j > 0 && letters[ranked[j - 1]] < letters[letter]) {
+                ranked[j] = ranked[j - 1];
+                --j;
+            }
+
+            ranked[j] = letter;
+        }
+
+        return ranked;
+    }
+
+    /**
+     * Returns a complete modified alphabet key which matches the letters of the message to the letters of the
+     * language by rank: the n-th most frequent letter of the message replaces the n-th most frequent letter of
+     * the language.
+     *
+     * @param profile the reference profile of the language
+     * @return the key, in the same form as the keys of Part2a.encrypt
+     */
+    public String rankedKey(Profile profile) {
+        int[] ranked = rankedLetters();
+        char[] key = new char[ALPHABET_SIZE];
+
+        for (int rank = 0; rank < ALPHABET_SIZE; ++rank)
+            key[profile.letterAt(rank)] = (char) ('a' + ranked[rank]);
+
+        return new String(key);
+    }
+
+    /**
+     * Returns the chi-squared statistic of the letter counts against a language; the lower the value, the
+     * closer the message's letters are to the language.
+     *
+     * @param profile the reference profile of the language
+     * @return the chi-squared statistic
+     */
+    public double chiSquared(Profile profile) {
+        double statistic = 0;
+
+        for (int letter = 0; letter < ALPHABET_SIZE; ++letter) {
+            double expected = profile.frequency(letter) * total;
+            double difference = letters[letter] - expected;
+
+            statistic += difference * difference / expected;
+        }
+
+        return statistic;
+    }
+}
@@ -111,6 +111,57 @@ public class Functions {
         return message.toString();
     }
 
+    /**
+     * Returns the letters as a single String, separated by a space after every group of letters.
+     *
+     * @param letters the letters to group
+     * @param length the number of letters to use from the array
+     * @param groupSize the number of letters in each group
+     * @return the grouped letters as a String
+     */
+    public static String groupLetters(char[] letters, int length, int groupSize) {
+        // leave room for a space between each group
+        StringBuilder grouped = new StringBuilder(length + length / groupSize);
+
+        for (int i = 0; i < length; i += groupSize) {
+            // add a space between each group, but not before the first one
+            if (i > 0)
+                grouped.append(' ');
+
+            grouped.append(letters, i, Math.min(groupSize, length - i));
+        }
+
+        return grouped.toString();
+    }
+
+    /**
+     * Returns the shift of each letter of a Vigenere keyword: 0 for 'a', up to 25 for 'z'.
+     *
+     * @param keyword the keyword, made of lowercase letters a-z
+     * @return the shift of each letter of the keyword
+     * @throws IllegalArgumentException if the keyword is empty or holds any other character
+     */
+    public static int[] getKeywordShifts(String keyword) {
+        // store the length to prevent excessive method calls within the loop
+        int keywordLength = keyword.length();
+
+        if (keywordLength == 0)
+            throw new IllegalArgumentException("The keyword must hold at least one letter.");
+
+        int[] shifts = new int[keywordLength];
+
+        for (int i = 0; i < keywordLength; ++i) {
+            char c = keyword.charAt(i);
+
+            if (c < 'a' || c > 'z')
+                throw new IllegalArgumentException("The keyword must only hold the letters a-z: " + keyword);
+
+            shifts[i] = c - 'a';
+        }
+
+        return shifts;
+    }
+
     /**
      * Returns a list of words such that the message likely forms a sentence.
      *
@@ -197,6 +248,18 @@ public class Functions {
         return decodedMessage;
     }
 
+    /**
+     * Returns a list of words such that the message likely forms a sentence, considering every possible way of
+     * splitting the message instead of always taking the longest word first.
+     *
+     * @param decodedString the decoded message in the form of a single String
+     * @param dictionaryTrie the prefix tree of words to check against the decoded String
+     * @return the list of words in a likely form of a sentence
+     */
+    public static ArrayList<String> formSentence(String decodedString, WordTrie dictionaryTrie) {
+        return dictionaryTrie.segment(decodedString);
+    }
+
     /**
      * Returns the most likely intelligible message and its key as an array of Strings by finding the message
      * with the highest average word length.
@@ -208,6 +271,8 @@ public class Functions {
     public static String[] findMostLikelyMatch(ArrayList<ArrayList<String>> possibleMatches,
                                                ArrayList<String> keysToMatches) {
 
+        // lazy way to measure the time spent choosing
+        long startTime = System.nanoTime();
         // store the size to prevent excessive method calls within the loop
         int numOfPossibleMatches = possibleMatches.size();
         // the average word length of the most likely intelligible words to be the original phrase
@@ -238,6 +303,9 @@ public class Functions {
             }
         }
 
+        long elapsedTime = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordMatchSelection(elapsedTime);
+
         // return the most likely match and its corresponding key
         return new String[] {getArrayListAsString(possibleMatches.get(index)), keysToMatches.get(index)};
     }
@@ -305,87 +373,32 @@ public class Functions {
     public static ArrayList<String> getKeyByFrequency(String fileName, String alphabet,
                                                       String message, int numOfLetters) throws IOException {
 
-        // the frequency of letters from the `.txt` file (most to least frequent)
-        ArrayList<Character> letterFrequencies = new ArrayList<>();
-        // the letters in the message sorted by frequency (most to least frequent)
-        ArrayList<Character> messageFrequencies = new ArrayList<>();
-        // store the length to prevent excessive method calls within the loop
-        int messageLength = message.length();
-        // the current line of that we are reading
-        String line;
-
-        // start reading from the dictionary file
-        try (BufferedReader bReader = new BufferedReader(new FileReader(fileName))) {
-            // continue to check each line until we've reached the end of the file
-            while ((line = bReader.readLine()) != null) {
-                // split the line into separate elements
-                String[] splitLine = line.split(" ");
-
-                // add each letter in order of its frequency (most to least)
-                letterFrequencies.add(splitLine[0].charAt(0));
-            }
-        }
+        // the frequency of letters from the `.txt` file (most to least frequent); only read once per file
+        FrequencyAnalyzer.Profile profile = FrequencyAnalyzer.profile(fileName);
+        // count the number of time each letter appears in the message
+        FrequencyAnalyzer analyzer = new FrequencyAnalyzer();
+        analyzer.update(message);
 
+        // the letters in the message sorted by frequency (most to least frequent)
+        int[] messageFrequencies = analyzer.rankedLetters();
         // store the length to prevent excessive method calls within the loop
         int alphabetSize = alphabet.length();
-        // count the number of time each letter appears in the message
-        ArrayList<Integer> frequencies = new ArrayList<>(Collections.nCopies(alphabetSize, 0));
-
-        // iterate through each character in the message
-        for (int i = 0; i < messageLength; ++i) {
-            // store the index matching the character's normalized ASCII value
-            int index = (int) message.charAt(i) - 97;
-
-            // increment the amount within the frequency ArrayList
-            frequencies.add(index, frequencies.get(index) + 1);
-            frequencies.remove(index + 1);
-        }
-
-        // store a copy of the frequencies in sorted, descending order
-        ArrayList<Integer> reversedFrequencies = reverseSort(frequencies);
-
-        // order the message frequencies from highest to lowest starting from index 0
-        for (int i = 0; i < alphabetSize; ++i) {
-            // get the highest frequency within the list and store its index
-            int highestFreq = Functions.getMax(frequencies);
-            int highestFreqIndex = frequencies.indexOf(highestFreq);
-
-            // add each relative max to the frequency list, putting them in descending order
-            frequencies.add(highestFreqIndex, -1);
-            frequencies.remove(highestFreqIndex + 1);
-
-            messageFrequencies.add(alphabet.charAt(highestFreqIndex));
-        }
-
         // the modified alphabet key in the form of an ArrayList that we will convert
         ArrayList<String> keyAsList = new ArrayList<>(Collections.nCopies(alphabetSize, ""));
 
         // convert each most-frequent character in the message frequencies list to its modified alphabet form
-        for (int i = 0; i < numOfLetters; ++i) {
-            // normalize and convert each letter to our alphabet range of 0-26
-            int txtFrequency = (int) letterFrequencies.get(i) - 97;
-            int modifiedFrequency = (int) messageFrequencies.get(i) - 97;
-
-            // add the corresponding characters to the modified alphabet and remove the empty placeholder
-            keyAsList.add(txtFrequency, Character.toString(alphabet.charAt(modifiedFrequency)));
-            keyAsList.remove(txtFrequency + 1);
-        }
+        for (int i = 0; i < numOfLetters; ++i)
+            keyAsList.set(profile.letterAt(i), Character.toString(alphabet.charAt(messageFrequencies[i])));
 
         // store the length to prevent excessive method calls within the loop
         int keySize = keyAsList.size() - 1;
 
         // similar to the loop above, except now we add the least frequent letters
-        for (int i = keySize; i > keySize - numOfLetters; --i) {
-            // normalize and convert each letter to our alphabet range of 0-26
-            int txtFrequency = (int) letterFrequencies.get(i) - 97;
-            int modifiedFrequency = (int) messageFrequencies.get(i) - 97;
-
-            // add the corresponding characters to the modified alphabet and remove the empty string
-            keyAsList.add(txtFrequency, Character.toString(alphabet.charAt(modifiedFrequency)));
-            keyAsList.remove(txtFrequency + 1);
+        for (int i = keySize; i > keySize - numOfLetters && i >= 0; --i) {
+            keyAsList.set(profile.letterAt(i), Character.toString(alphabet.charAt(messageFrequencies[i])));
 
             // if the frequency of the current character is 0, its placement is set; we can check the next letter
-            if (reversedFrequencies.get(i) == 0)
+            if (analyzer.getCount(messageFrequencies[i]) == 0)
                 numOfLetters += 1;
         }
 
@@ -485,6 +498,96 @@ public class Functions {
         return retrievedWords;
     }
 
+    /**
+     * Returns the letter pattern of a word, where each distinct letter is replaced by the order it first
+     * appears in (ex: "hello" -> "ABCCD"). Words with the same pattern can be encrypted into each other by a
+     * substitution cipher.
+     *
+     * @param word the word to convert
+     * @return the letter pattern of the word
+     */
+    public static String getWordPattern(CharSequence word) {
+
+        // the pattern letter given to each letter of the word, or 0 if the letter has not been seen yet
+        char[] patternLetters = new char[128];
+        // store the length to prevent excessive method calls within the loop
+        int wordLength = word.length();
+        char[] pattern = new char[wordLength];
+        char nextPatternLetter = 'A';
+
+        for (int i = 0; i < wordLength; ++i) {
+            char c = word.charAt(i);
+
+            // only ASCII characters can be looked up; everything else keeps its own value
+            if (c >= patternLetters.length) {
+                pattern[i] = c;
+                continue;
+            }
+
+            if (patternLetters[c] == 0)
+                patternLetters[c] = nextPatternLetter++;
+
+            pattern[i] = patternLetters[c];
+        }
+
+        return new String(pattern);
+    }
+
+    /**
+     * Groups the words by their letter pattern (see getWordPattern). Only words made entirely of lowercase
+     * letters a-z are kept, and the words of each group are sorted alphabetically.
+     *
+     * @param words the dictionary words to group
+     * @return the read-only groups of words, by letter pattern
+     */
+    public static Map<String, List<String>> groupWordsByPattern(Collection<String> words) {
+
+        Map<String, List<String>> groups = new HashMap<>();
+
+        for (String word : words) {
+            // skip words that contain letters outside of our alphabet
+            if (!word.chars().allMatch(c -> c >= 'a' && c <= 'z'))
+                continue;
+
+            groups.computeIfAbsent(getWordPattern(word), pattern -> new ArrayList<>()).add(word);
+        }
+
+        // sort each group, so that the groups are the same no matter the order the words were read in
+        for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+            Collections.sort(group.getValue());
+            group.setValue(Collections.unmodifiableList(group.getValue()));
+        }
+
+        return Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * Reads a file and returns its non-empty lines, trimmed of surrounding whitespace.
+     *
+     * @param fileName the name of the file to read from
+     * @return the lines of the file in order
+     */
+    public static ArrayList<String> readLines(String fileName) throws IOException {
+
+        ArrayList<String> lines = new ArrayList<>();
+        // the current line of that we are reading
+        String line;
+
+        // start reading from the file
+        try (BufferedReader bReader = new BufferedReader(new FileReader(fileName))) {
+            // continue to check each line until we've reached the end of the file
+            while ((line = bReader.readLine()) != null) {
+                line = line.trim();
+
+                // skip the lines that are empty, if there are any
+                if (!line.isEmpty())
+                    lines.add(line);
+            }
+        }
+
+        return lines;
+    }
+
     /**
      * Returns a sorted array in descending order.
      *
@@ -530,4 +633,35 @@ public class Functions {
         // return the reversed String
         return result.toString();
     }
+
+    /**
+     * Returns a String as a quoted JSON String.
+     *
+     * @param str the String to quote
+     * @return the quoted and escaped String
+     */
+    public static String quoteJson(String str) {
+        StringBuilder quoted = new StringBuilder(str.length() + 2).append('"');
+
+        for (int i = 0; i < str.length(); ++i) {
+            char c = str.charAt(i);
+
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    // escape the remaining control characters
+                    if (c < 0x20)
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    else
+                        quoted.append(c);
+                }
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
 }
@@ -0,0 +1,417 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Cracks substitution ciphers by repeatedly swapping letters of a key while the decoded message
+ *          looks more like English.
+ */
+public class HillClimber {
+
+    // the alphabet map of values used for all messages
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    // the size of the alphabet
+    private static final int ALPHABET_SIZE = ALPHABET.length();
+    // the number of climbs in a row that may fail to find a better key before the search stops
+    public static final int DEFAULT_RESTARTS = 60;
+    // the most climbs the search makes for one message, however often it keeps finding better keys
+    private static final int MAX_CLIMBS = 1_000;
+    // how often a climb starts from the best key with a few letters swapped, rather than from a shuffled key
+    private static final double KICK_PROBABILITY = 0.5;
+    // the most random swaps made to the best key before climbing from it again
+    private static final int MAX_KICK_SWAPS = 4;
+    // the most quadgram score a polish move may give up for each letter of the message, in log10 units
+    private static final double POLISH_TOLERANCE = 0.1;
+
+    // the language the messages were written in
+    private final LanguageProfile language;
+    // the table used to score how English-like each decoded message is
+    private final NGramTable nGramTable;
+    // the number of climbs in a row that may fail to find a better key before the search stops
+    private final int restarts;
+    // the source of the shuffled and kicked starting keys
+    private final Random random;
+
+    /**
+     * Creates a solver using the shared quadgram table.
+     */
+    public HillClimber() throws IOException {
+        this(LanguageProfile.getDefault());
+    }
+
+    /**
+     * Creates a solver using the quadgram table of a language.
+     *
+     * @param language the language the messages were written in
+     */
+    public HillClimber(LanguageProfile language) throws IOException {
+        this(language, language.getNGramTable(), DEFAULT_RESTARTS, new Random());
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param language the language the messages were written in, whose letters and dictionary are used
+     * @param nGramTable the table used to score decoded messages
+     * @param restarts the number of climbs in a row that may fail to find a better key before the search stops
+     * @param random the source of the shuffled and kicked starting keys
+     */
+    public HillClimber(LanguageProfile language, NGramTable nGramTable, int restarts, Random random) {
+        this.language = language;
+        this.nGramTable = nGramTable;
+        this.restarts = restarts;
+        this.random = random;
+    }
+
+    /**
+     * Deciphers an encrypted message and returns the result in the same form as Part1.decipher.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @return the decoded message and its key, or an empty array if the message has no letters
+     */
+    public String[] decipher(String encodedMessage) throws IOException {
+
+        // lazy way to measure the whole crack
+        long startTime = System.nanoTime();
+        // keep only the letters of the message, as values 0-25
+        String trimmedMessage = lettersOf(encodedMessage);
+        // store the length to prevent excessive method calls within the loops
+        int messageLength = trimmedMessage.length();
+
+        if (messageLength == 0)
+            return new String[0];
+
+        byte[] cipherLetters = new byte[messageLength];
+
+        for (int i = 0; i < messageLength; ++i)
+            cipherLetters[i] = (byte) (trimmedMessage.charAt(i) - 'a');
+
+        // the words of the language, used to choose between keys which the quadgrams cannot tell apart
+        WordFrequencyTable wordFrequencies = language.getWordFrequencies();
+        // the buffers used to score the words of each key
+        char[] decodedLetters = new char[messageLength];
+        double[] wordScores = new double[messageLength + 1];
+
+        // start from the key suggested by frequency analysis
+        byte[] bestKey = getFrequencyKey(trimmedMessage);
+        ScoringState state = new ScoringState(nGramTable, cipherLetters, bestKey);
+        double bestScore = climb(state) + scoreWords(state, bestKey, cipherLetters, wordFrequencies,
+                decodedLetters, wordScores);
+
+        /*
+            A single climb often gets stuck on a key which is right apart from a few letters, so the search keeps
+            climbing again: half of the time from a shuffled key, and half of the time from the best key with a few
+            letters swapped, which frees it from that kind of dead end. Each key it ends on is scored by its
+            quadgrams and its words together, since the quadgrams alone can prefer a wrong key on a short message.
+            It stops once enough climbs in a row fail to beat the best key
+         */
+        byte[] currentKey = new byte[ALPHABET_SIZE];
+
+        for (int climbs = 1, failures = 0; climbs < MAX_CLIMBS && failures < restarts; ++climbs) {
+            System.arraycopy(bestKey, 0, currentKey, 0, ALPHABET_SIZE);
+
+            if (random.nextDouble() < KICK_PROBABILITY) {
+                for (int kicks = 2 + random.nextInt(MAX_KICK_SWAPS - 1); kicks > 0; --kicks)
+                    swap(currentKey, random.nextInt(ALPHABET_SIZE), random.nextInt(ALPHABET_SIZE));
+            } else
+                shuffle(currentKey);
+
+            state.reset(currentKey);
+            double currentScore = climb(state) + scoreWords(state, currentKey, cipherLetters, wordFrequencies,
+                    decodedLetters, wordScores);
+
+            if (currentScore > bestScore) {
+                bestScore = currentScore;
+                System.arraycopy(currentKey, 0, bestKey, 0, ALPHABET_SIZE);
+                failures = 0;
+            } else
+                ++failures;
+        }
+
+        polish(bestKey, cipherLetters, wordFrequencies, decodedLetters, wordScores);
+
+        String[] result = getResult(bestKey, cipherLetters);
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordCrack(latency);
+
+        return result;
+    }
+
+    /**
+     * Improves the key of a scoring state by trying every pair of letters, keeping each swap which raises the
+     * score, until no swap helps. Each swap is scored incrementally, only rescoring the quadgrams that contain the
+     * two swapped letters.
+     *
+     * @param state the message decoded with the key to improve
+     * @return the score of the improved key
+     */
+    private double climb(ScoringState state) {
+        // the number of keys scored, reported to the metrics once the climb is over
+        long numOfKeys = 0;
+        boolean improved = true;
+
+        while (improved) {
+            improved = false;
+
+            // try every pair of letters in the key
+            for (int i = 0; i < ALPHABET_SIZE - 1; ++i) {
+                for (int j = i + 1; j < ALPHABET_SIZE; ++j) {
+                    double delta = state.swap(i, j);
+                    ++numOfKeys;
+
+                    if (delta > 0)
+                        improved = true;
+                    else
+                        // the swap made things worse; undo it
+                        state.swap(i, j);
+                }
+            }
+        }
+
+        CrackMetrics.getInstance().recordKeysEvaluated(numOfKeys);
+
+        return state.getFitness();
+    }
+
+    /**
+     * Fixes the last few letters of a key with the words of the message. The best key by quadgrams can still be
+     * a few letters off where the message is short, such as "tives" for "times", since rare letters are hardly
+     * scored at all; so letters are moved around while the quadgram and word scores together keep rising. A move
+     * either swaps two letters, or hands one letter of the message the plaintext letter of another, which in
+     * turn takes a plaintext letter the message does not use yet ("enyofable" to "enjoyable" takes both j and
+     * y). The words are only scored for the moves which cost little of the quadgram score.
+     *
+     * @param decryptKey the key to improve in place; maps each cipher letter to a plaintext letter
+     * @param cipherLetters the encrypted message as values 0-25
+     * @param wordFrequencies the words of the language
+     * @param decodedLetters the buffer the message is decoded into
+     * @param wordScores the buffer used to score the words
+     */
+    private void polish(byte[] decryptKey, byte[] cipherLetters, WordFrequencyTable wordFrequencies,
+                        char[] decodedLetters, double[] wordScores) {
+        ScoringState state = new ScoringState(nGramTable, cipherLetters, decryptKey);
+        // the most quadgram score a single move may give up
+        double maxLoss = POLISH_TOLERANCE * cipherLetters.length;
+        boolean[] inMessage = new boolean[ALPHABET_SIZE];
+
+        for (byte letter : cipherLetters)
+            inMessage[letter] = true;
+
+        double words = scoreWords(state, decryptKey, cipherLetters, wordFrequencies, decodedLetters,
+                wordScores);
+        // the best move found so far, as up to two swaps made in order: a, b, then c, d (or -1 for none)
+        int[] bestMove = new int[4];
+
+        while (true) {
+            // the gain of the best move, and the word score it leads to
+            double bestGain = 0;
+            double bestWords = words;
+            bestMove[0] = -1;
+
+            for (int a = 0; a < ALPHABET_SIZE - 1; ++a) {
+                for (int b = a + 1; b < ALPHABET_SIZE; ++b) {
+                    // swapping letters which are both missing from the message changes nothing
+                    if (!inMessage[a] && !inMessage[b])
+                        continue;
+
+                    double delta = state.swap(a, b);
+
+                    if (delta > -maxLoss) {
+                        double moved = scoreWords(state, decryptKey, cipherLetters, wordFrequencies,
+                                decodedLetters, wordScores);
+
+                        if (delta + moved - words > bestGain) {
+                            bestGain = delta + moved - words;
+                            bestWords = moved;
+                            setMove(bestMove, a, b, -1, -1);
+                        }
+                    }
+
+                    state.swap(a, b);
+                }
+            }
+
+            // b takes the plaintext letter of the unused cipher letter u, and a takes the one of b
+            for (int u = 0; u < ALPHABET_SIZE; ++u) {
+                if (inMessage[u])
+                    continue;
+
+                for (int a = 0; a < ALPHABET_SIZE; ++a) {
+                    for (int b = 0; b < ALPHABET_SIZE; ++b) {
+                        if (!inMessage[a] || !inMessage[b] || a == b)
+                            continue;
+
+                        double delta = state.swap(b, u) + state.swap(a, b);
+
+                        if (delta > -maxLoss) {
+                            double moved = scoreWords(state, decryptKey, cipherLetters, wordFrequencies,
+                                decodedLetters, wordScores);
+
+                            if (delta + moved - words > bestGain) {
+                                bestGain = delta + moved - words;
+                                bestWords = moved;
+                                setMove(bestMove, b, u, a, b);
+                            }
+                        }
+
+                        // undo the swaps in reverse order
+                        state.swap(a, b);
+                        state.swap(b, u);
+                    }
+                }
+            }
+
+            // no move raises the score
+            if (bestMove[0] < 0)
+                break;
+
+            state.swap(bestMove[0], bestMove[1]);
+
+            if (bestMove[2] >= 0)
+                state.swap(bestMove[2], bestMove[3]);
+
+            words = bestWords;
+        }
+
+        state.copyKeyTo(decryptKey);
+    }
+
+    /**
+     * Decodes a message with the key of a scoring state and scores how much it reads like words.
+     *
+     * @param state the message decoded with the key
+     * @param decryptKey the buffer the key is copied into
+     * @param cipherLetters the encrypted message as values 0-25
+     * @param wordFrequencies the words of the language
+     * @param decodedLetters the buffer the message is decoded into
+     * @param wordScores the buffer used to score the words
+     * @return the word score of the decoded message (see WordFrequencyTable.score)
+     */
+    private static double scoreWords(ScoringState state, byte[] decryptKey, byte[] cipherLetters,
+                                     WordFrequencyTable wordFrequencies, char[] decodedLetters,
+                                     double[] wordScores) {
+        state.copyKeyTo(decryptKey);
+
+        for (int i = 0; i < cipherLetters.length; ++i)
+            decodedLetters[i] = ALPHABET.charAt(decryptKey[cipherLetters[i]]);
+
+        return wordFrequencies.score(decodedLetters, wordScores);
+    }
+
+    /**
+     * Stores a polish move.
+     *
+     * @param move the array holding the move
+     * @param a the first letter of the first swap
+     * @param b the second letter of the first swap
+     * @param c the first letter of the second swap, or -1 if there is none
+     * @param d the second letter of the second swap, or -1 if there is none
+     */
+    private static void setMove(int[] move, int a, int b, int c, int d) {
+        move[0] = a;
+        move[1] = b;
+        move[2] = c;
+        move[3] = d;
+    }
+
+    /**
+     * Returns a starting key which maps the most frequent cipher letters to the most frequent English letters.
+     *
+     * @param trimmedMessage the encrypted message, letters only
+     * @return the key, mapping each cipher letter to a plaintext letter
+     */
+    private byte[] getFrequencyKey(String trimmedMessage) throws IOException {
+        // the language's letters from most to least frequent
+        FrequencyAnalyzer.Profile profile = language.getLetterProfile();
+        // count the number of times each letter appears in the message, and order them by frequency
+        FrequencyAnalyzer analyzer = new FrequencyAnalyzer();
+        analyzer.update(trimmedMessage);
+        int[] cipherLetters = analyzer.rankedLetters();
+
+        byte[] decryptKey = new byte[ALPHABET_SIZE];
+
+        // match the letters by their rank
+        for (int rank = 0; rank < ALPHABET_SIZE; ++rank)
+            decryptKey[cipherLetters[rank]] = (byte) profile.letterAt(rank);
+
+        return decryptKey;
+    }
+
+    /**
+     * Decodes the message with the final key and splits it into words if possible.
+     *
+     * @param decryptKey maps each cipher letter to a plaintext letter
+     * @param cipherLetters the encrypted message as values 0-25
+     * @return the decoded message and its key
+     */
+    private String[] getResult(byte[] decryptKey, byte[] cipherLetters) throws IOException {
+        // store the length to prevent excessive method calls within the loop
+        int messageLength = cipherLetters.length;
+        StringBuilder decodedString = new StringBuilder(messageLength);
+
+        for (int i = 0; i < messageLength; ++i)
+            decodedString.append(ALPHABET.charAt(decryptKey[cipherLetters[i]]));
+
+        // build the key in the same form the rest of the program uses: the cipher letter for each plaintext letter
+        char[] key = new char[ALPHABET_SIZE];
+
+        for (int cipher = 0; cipher < ALPHABET_SIZE; ++cipher)
+            key[decryptKey[cipher]] = ALPHABET.charAt(cipher);
+
+        // separate the decoded message into words; fall back to the raw letters if that is not possible
+        WordTrie dictionaryTrie = language.getDictionary().getTrie();
+        ArrayList<String> decodedWords = Functions.formSentence(decodedString.toString(), dictionaryTrie);
+        String message = decodedWords.isEmpty() ? decodedString.toString()
+                : Functions.getArrayListAsString(decodedWords);
+
+        return new String[] {message, new String(key)};
+    }
+
+    /**
+     * Returns the lowercase letters of a message, dropping every other character.
+     *
+     * @param message the message to trim
+     * @return the letters of the message
+     */
+    private static String lettersOf(String message) {
+        String lowercase = message.toLowerCase(Locale.ROOT);
+        StringBuilder letters = new StringBuilder(lowercase.length());
+
+        for (int i = 0; i < lowercase.length(); ++i) {
+            char c = lowercase.charAt(i);
+
+            if (c >= 'a' && c <= 'z')
+                letters.append(c);
+        }
+
+        return letters.toString();
+    }
+
+    /**
+     * Randomly reorders the key in place (Fisher-Yates).
+     *
+     * @param key the key to shuffle
+     */
+    private void shuffle(byte[] key) {
+        for (int i = key.length - 1; i > 0; --i)
+            swap(key, i, random.nextInt(i + 1));
+    }
+
+    /**
+     * Swaps two entries of the key.
+     *
+     * @param key the key to modify
+     * @param i the first index
+     * @param j the second index
+     */
+    private static void swap(byte[] key, int i, int j) {
+        byte temp = key[i];
+        key[i] = key[j];
+        key[j] = temp;
+    }
+}
@@ -0,0 +1,362 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Everything the solvers need to know about a language: its alphabet, dictionary, letter frequencies,
+ *          most common words, quadgram table and word frequencies. Languages are registered by name, and each
+ *          part of a profile is only read from disk the first time a solver asks for it.
+ *
+ * The loaded profiles are kept in a cache of "language.cache.size" languages (2 by default), dropping the least
+ * recently used one first, so that cracking messages in many languages does not keep every dictionary in memory.
+ * English is always registered; its dictionary and quadgram table are the ones shared by the whole program.
+ */
+public final class LanguageProfile {
+
+    // the language used when none is given
+    public static final String DEFAULT_LANGUAGE = "english";
+    // the system property holding the number of loaded languages to keep
+    public static final String CACHE_SIZE_PROPERTY = "language.cache.size";
+    // the number of loaded languages kept when no size is given
+    public static final int DEFAULT_CACHE_SIZE = 2;
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+
+    /**
+     * The files a language is read from.
+     */
+    private record Definition(String name, String alphabet, String dictionaryFile, String frequencyFile,
+                              String commonWordsFile, String quadgramFile, String wordCountsFile) {
+    }
+
+    // the registered languages, by name
+    private static final Map<String, Definition> DEFINITIONS = new ConcurrentHashMap<>();
+    // the most recently used profiles, by name; guarded by itself
+    private static final Map<String, LanguageProfile> LOADED = leastRecentlyUsed(cacheSize());
+
+    static {
+        register(DEFAULT_LANGUAGE, SubstitutionKey.ALPHABET, Dictionary.DEFAULT_FILE, "letter_frequencies.txt",
+                "common_words.txt", NGramTable.DEFAULT_FILE, WordFrequencyTable.DEFAULT_FILE);
+    }
+
+    // the files this language is read from
+    private final Definition definition;
+
+    // each part of the profile, or null until it is first asked for
+    private volatile Dictionary dictionary;
+    private volatile FrequencyAnalyzer.Profile letterProfile;
+    private volatile List<String> commonWords;
+    private volatile NGramTable nGramTable;
+    private volatile WordFrequencyTable wordFrequencies;
+
+    private LanguageProfile(Definition definition) {
+        this.definition = definition;
+    }
+
+    /**
+     * Registers a language, replacing any language registered under the same name. Nothing is read until the
+     * language is used.
+     *
+     * @param name the name of the language
+     * @param alphabet the letters of the language, in order
+     * @param dictionaryFile the name of the dictionary file, one word per line
+     * @param frequencyFile the name of the file holding the frequency of each letter, most frequent first
+     * @param commonWordsFile the name of the file holding the most common words, most frequent first
+     * @param quadgramFile the name of the file holding the quadgram counts of running text in the language, in
+     *                     the form NGramTable.fromFile reads
+     * @param wordCountsFile the name of the file holding the word counts of running text in the language, in
+     *                       the form WordFrequencyTable.fromFile reads
+     * @throws IllegalArgumentException if the alphabet is not the 26 letters a-z, which every key and table of
+     *                                  the program is built around
+     */
+    public static void register(String name, String alphabet, String dictionaryFile, String frequencyFile,
+                                String commonWordsFile, String quadgramFile, String wordCountsFile) {
+        if (!SubstitutionKey.ALPHABET.equals(alphabet))
+            throw new IllegalArgumentException("Only the alphabet " + SubstitutionKey.ALPHABET +
+                    " is supported: " + alphabet);
+
+        String key = name.toLowerCase(Locale.ROOT);
+        DEFINITIONS.put(key, new Definition(key, alphabet, dictionaryFile, frequencyFile, commonWordsFile,
+                quadgramFile, wordCountsFile));
+
+        // forget any profile loaded from the old files
+        synchronized (LOADED) {
+            LOADED.remove(key);
+        }
+    }
+
+    /**
+     * Returns the profile of a registered language; its files are only read as each part is asked for.
+     *
+     * @param name the name of the language
+     * @return the profile
+     * @throws IllegalArgumentException if no language has that name
+     */
+    public static LanguageProfile get(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+
+        synchronized (LOADED) {
+            LanguageProfile profile = LOADED.get(key);
+
+            if (profile == null) {
+                Definition definition = DEFINITIONS.get(key);
+
+                if (definition == null)
+                    throw new IllegalArgumentException("Unknown language: " + name + "; expected one of " +
+                            getLanguages());
+
+                profile = new LanguageProfile(definition);
+                LOADED.put(key, profile);
+            }
+
+            return profile;
+        }
+    }
+
+    /**
+     * Returns the profile of the default language (English).
+     *
+     * @return the profile
+     */
+    public static LanguageProfile getDefault() {
+        return get(DEFAULT_LANGUAGE);
+    }
+
+    /**
+     * Returns the names of the registered languages.
+     *
+     * @return the names, in alphabetical order
+     */
+    public static Set<String> getLanguages() {
+        return new TreeSet<>(DEFINITIONS.keySet());
+    }
+
+    /**
+     * Picks the language an encrypted message was most likely written in, from its letter counts alone. A
+     * substitution cipher changes which letter is which but not how often each one is used, so the message's
+     * letter frequencies, sorted from most to least frequent, are compared to each language's sorted letter
+     * frequencies; only the small frequency files are read.
+     *
+     * @param encodedMessage the encrypted message
+     * @return the profile of the most likely language, or the default language if only one is registered
+     */
+    public static LanguageProfile detect(String encodedMessage) throws IOException {
+        Set<String> languages = getLanguages();
+
+        if (languages.size() == 1)
+            return get(languages.iterator().next());
+
+        // the message's letter frequencies, from most to least frequent
+        char[] letters = Part1.lettersOf(encodedMessage);
+        double[] frequencies = new double[ALPHABET_SIZE];
+
+        for (char letter : letters)
+            frequencies[letter - 'a'] += 1.0 / letters.length;
+
+        Arrays.sort(frequencies);
+
+        String bestLanguage = DEFAULT_LANGUAGE;
+        double bestDistance = Double.POSITIVE_INFINITY;
+
+        for (String language : languages) {
+            FrequencyAnalyzer.Profile profile = FrequencyAnalyzer.profile(DEFINITIONS.get(language).frequencyFile());
+            double distance = 0;
+
+            // compare the n-th most frequent letters, weighted like chi-squared
+            for (int rank = 0; rank < ALPHABET_SIZE; ++rank) {
+                double expected = profile.frequency(profile.letterAt(rank));
+                double difference = frequencies[ALPHABET_SIZE - 1 - rank] - expected;
+
+                distance += difference * difference / expected;
+            }
+
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestLanguage = language;
+            }
+        }
+
+        return get(bestLanguage);
+    }
+
+    /**
+     * Reads the number of loaded languages to keep from the system properties.
+     *
+     * @return the number of languages
+     */
+    private static int cacheSize() {
+        String size = System.getProperty(CACHE_SIZE_PROPERTY);
+
+        if (size == null)
+            return DEFAULT_CACHE_SIZE;
+
+        try {
+            int capacity = Integer.parseInt(size);
+
+            if (capacity > 0)
+                return capacity;
+        } catch (NumberFormatException e) {
+            // warn below, the same as for a number that is too small
+        }
+
+        System.err.println("Ignoring " + CACHE_SIZE_PROPERTY + "=" + size + "; expected a positive number.");
+        return DEFAULT_CACHE_SIZE;
+    }
+
+    /**
+     * Returns a map which drops its least recently used entry once it holds more than the capacity.
+     *
+     * @param capacity the most entries to keep
+     * @return the empty map
+     */
+    private static Map<String, LanguageProfile> leastRecentlyUsed(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LanguageProfile> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the name of the language.
+     *
+     * @return the name, in lowercase
+     */
+    public String getName() {
+        return definition.name();
+    }
+
+    /**
+     * Returns the letters of the language, in order.
+     *
+     * @return the alphabet
+     */
+    public String getAlphabet() {
+        return definition.alphabet();
+    }
+
+    /**
+     * Returns the name of the file holding the frequency of each letter, for the methods which read it by name.
+     *
+     * @return the file name
+     */
+    public String getFrequencyFile() {
+        return definition.frequencyFile();
+    }
+
+    /**
+     * Returns the dictionary of the language, loading it on first use.
+     *
+     * @return the dictionary
+     */
+    public Dictionary getDictionary() throws IOException {
+        Dictionary current = dictionary;
+
+        if (current == null) {
+            synchronized (this) {
+                current = dictionary;
+
+                if (current == null) {
+                    // the default dictionary file is shared with the rest of the program, and only read once
+                    current = definition.dictionaryFile().equals(Dictionary.DEFAULT_FILE) ?
+                            Dictionary.getInstance() : Dictionary.load(definition.dictionaryFile());
+                    dictionary = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the frequency of each letter of the language, reading the file on first use.
+     *
+     * @return the letter frequencies
+     */
+    public FrequencyAnalyzer.Profile getLetterProfile() throws IOException {
+        FrequencyAnalyzer.Profile current = letterProfile;
+
+        if (current == null)
+            letterProfile = current = FrequencyAnalyzer.profile(definition.frequencyFile());
+
+        return current;
+    }
+
+    /**
+     * Returns the most common words of the language, reading the file on first use.
+     *
+     * @return the words, most frequent first
+     */
+    public List<String> getCommonWords() throws IOException {
+        List<String> current = commonWords;
+
+        if (current == null)
+            commonWords = current = List.copyOf(Functions.readLines(definition.commonWordsFile()));
+
+        return current;
+    }
+
+    /**
+     * Returns the quadgram table of the language, building it on first use.
+     *
+     * @return the quadgram table
+     */
+    public NGramTable getNGramTable() throws IOException {
+        NGramTable current = nGramTable;
+
+        if (current == null) {
+            synchronized (this) {
+                current = nGramTable;
+
+                if (current == null) {
+                    // the default language's table is shared with the rest of the program, and only built once
+                    current = definition.quadgramFile().equals(NGramTable.DEFAULT_FILE) ?
+                            NGramTable.getInstance() : NGramTable.fromFile(definition.quadgramFile());
+                    nGramTable = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns how often each dictionary word of the language appears in running text, reading the file on first
+     * use.
+     *
+     * @return the word frequencies
+     */
+    public WordFrequencyTable getWordFrequencies() throws IOException {
+        WordFrequencyTable current = wordFrequencies;
+
+        if (current == null) {
+            synchronized (this) {
+                current = wordFrequencies;
+
+                if (current == null)
+                    wordFrequencies = current = WordFrequencyTable.fromFile(definition.wordCountsFile(),
+                            getDictionary().getTrie());
+            }
+        }
+
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return definition.name() + " (dictionary " + definition.dictionaryFile() + ", letters " +
+                definition.frequencyFile() + (dictionary == null ? "" : ", loaded") + ")";
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 
 /**
  * @author Steven Dao
@@ -15,6 +17,18 @@ public class Main {
      */
     public static void main(String[] args) {
 
+        // skip the menu entirely when running a batch of messages from files
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // serve requests over HTTP instead of showing the menu
+        if (args.length > 0 && args[0].equals("--server")) {
+            CipherServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         /*
             Menu handling
          */
@@ -30,7 +44,7 @@ public class Main {
                     "\n                         Symmetric Cryptography" +
                     "\n========================================================================" +
                     "\n\nPlease select an option:" +
-                    "\n\t1) Decipher messages using brute-force attacks" +
+                    "\n\t1) Decipher messages using brute-force or hill-climbing attacks" +
                     "\n\t2) Encrypt messages using simple substitution" +
                     "\n\t3) Decrypt messages using simple substitution" +
                     "\n\t0) Quit" +
@@ -0,0 +1,217 @@
+import java.io.IOException;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Scores text by how closely its quadgrams (groups of 4 letters) match English.
+ *
+ * The quadgrams are counted from running English text, read as one continuous run of letters so that the
+ * quadgrams which span two words are counted as well. A word list cannot stand in for it: it counts every word
+ * once, no matter how common it is, and never shows which letters meet across word boundaries.
+ */
+public class NGramTable {
+
+    // the number of letters in the alphabet that the table is indexed by
+    private static final int ALPHABET_SIZE = 26;
+    // the number of letters in each n-gram
+    public static final int N = 4;
+    // the quadgram counts the default table is built from; see the header of the file for where they come from
+    public static final String DEFAULT_FILE = "english_quadgrams.txt";
+
+    // how much less likely a quadgram missing from the text is than its trigrams alone suggest
+    private static final double UNSEEN_WEIGHT = 0.1;
+
+    // the log10 probability of each quadgram, indexed by the base-26 value of its letters
+    private final float[] logProbabilities;
+    // the log10 probability given to quadgrams that never appear in the corpus
+    private final float floor;
+
+    // the table built from the default counts, or null until it has been built
+    private static volatile NGramTable instance;
+
+    private NGramTable(int[] counts) {
+        // store the length to prevent excessive method calls within the loop
+        int tableSize = counts.length;
+        // the total number of quadgrams counted
+        long total = 0;
+
+        // the number of times each trigram and bigram starts a counted quadgram, for estimating unseen ones
+        int[] trigramCounts = new int[tableSize / ALPHABET_SIZE];
+        int[] bigramCounts = new int[trigramCounts.length / ALPHABET_SIZE];
+
+        for (int i = 0; i < tableSize; ++i) {
+            total += counts[i];
+            trigramCounts[i / ALPHABET_SIZE] += counts[i];
+            bigramCounts[i / (ALPHABET_SIZE * ALPHABET_SIZE)] += counts[i];
+        }
+
+        logProbabilities = new float[tableSize];
+        // give unseen quadgrams a small, non-zero probability so a single one does not rule out a key
+        floor = (float) Math.log10(0.01 / total);
+
+        for (int i = 0; i < tableSize; ++i) {
+            if (counts[i] > 0) {
+                logProbabilities[i] = (float) Math.log10((double) counts[i] / total);
+                continue;
+            }
+
+            /*
+                Millions of letters of text still miss some quadgrams of ordinary words, so an unseen quadgram
+                abcd is estimated from its trigrams, as P(abc) * P(d | bc), and made less likely than that for
+                never having been seen. Only quadgrams whose trigrams were never seen either get the floor
+             */
+            int first = i / ALPHABET_SIZE;
+            int last = i % (ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE);
+            int middle = first % (ALPHABET_SIZE * ALPHABET_SIZE);
+
+            if (trigramCounts[first] == 0 || trigramCounts[last] == 0)
+                logProbabilities[i] = floor;
+            else
+                logProbabilities[i] = (float) Math.max(floor, Math.log10(UNSEEN_WEIGHT *
+                        trigramCounts[first] / total * trigramCounts[last] / bigramCounts[middle]));
+        }
+    }
+
+    /**
+     * Returns the shared quadgram table of English, building it on first use. If the counts cannot be read,
+     * nothing is kept, so the next call tries to build it again.
+     *
+     * @return the shared table
+     */
+    public static NGramTable getInstance() throws IOException {
+        NGramTable current = instance;
+
+        if (current == null) {
+            synchronized (NGramTable.class) {
+                current = instance;
+
+                if (current == null)
+                    instance = current = fromFile(DEFAULT_FILE);
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Builds a quadgram table from a file of quadgram counts. Each line holds four letters and the number of
+     * times they appear in a row in running text of the language, separated by a space; lines starting with '#'
+     * are comments.
+     *
+     * @param fileName the name of the counts file
+     * @return the new table
+     * @throws IOException if the file cannot be read or a line is not a quadgram and its count
+     */
+    public static NGramTable fromFile(String fileName) throws IOException {
+        int[] counts = new int[ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE];
+
+        for (String line : Functions.readLines(fileName)) {
+            if (line.startsWith("#"))
+                continue;
+
+            String[] splitLine = line.split(" ");
+            int index = 0;
+
+            if (splitLine.length != 2 || splitLine[0].length() != N)
+                throw new IOException("Not a quadgram count in " + fileName + ": " + line);
+
+            // the base-26 value of the quadgram's letters
+            for (int i = 0; i < N; ++i) {
+                int letter = splitLine[0].charAt(i) - 'a';
+
+                if (letter < 0 || letter >= ALPHABET_SIZE)
+                    throw new IOException("Not a quadgram count in " + fileName + ": " + line);
+                index = index * ALPHABET_SIZE + letter;
+            }
+
+            try {
+                counts[index] += Integer.parseInt(splitLine[1]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Not a quadgram count in " + fileName + ": " + line, e);
+            }
+        }
+
+        return new NGramTable(counts);
+    }
+
+    /**
+     * Returns the log10 probability of a single quadgram.
+     *
+     * @param index the base-26 value of the quadgram's letters
+     * @return the log10 probability
+     */
+    public float logProbability(int index) {
+        return logProbabilities[index];
+    }
+
+    /**
+     * Returns the log10 probability of a quadgram made of the four given letters.
+     *
+     * @param a the first letter, 0-25
+     * @param b the second letter, 0-25
+     * @param c the third letter, 0-25
+     * @param d the fourth letter, 0-25
+     * @return the log10 probability
+     */
+    public float logProbability(int a, int b, int c, int d) {
+        return logProbabilities[((a * ALPHABET_SIZE + b) * ALPHABET_SIZE + c) * ALPHABET_SIZE + d];
+    }
+
+    /**
+     * Returns the fitness of a run of letters, which is the sum of the log10 probabilities of all of its
+     * quadgrams; higher (closer to zero) is more English-like.
+     *
+     * @param letters the letters as values 0-25
+     * @param length the number of letters to score
+     * @return the fitness of the letters
+     */
+    public double score(byte[] letters, int length) {
+        double fitness = 0;
+
+        // nothing to score if there is not a single full quadgram
+        if (length < N)
+            return fitness;
+
+        // roll the quadgram index along the letters instead of recomputing it
+        int index = (letters[0] * ALPHABET_SIZE + letters[1]) * ALPHABET_SIZE + letters[2];
+        final int mod = ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE;
+
+        for (int i = N - 1; i < length; ++i) {
+            index = (index % mod) * ALPHABET_SIZE + letters[i];
+            fitness += logProbabilities[index];
+        }
+
+        return fitness;
+    }
+
+    /**
+     * Returns the fitness of a String, ignoring any character that is not a lowercase letter.
+     *
+     * @param text the text to score
+     * @return the fitness of the text
+     */
+    public double score(String text) {
+        byte[] letters = new byte[text.length()];
+        int length = 0;
+
+        for (int i = 0; i < text.length(); ++i) {
+            int letter = text.charAt(i) - 'a';
+
+            if (letter >= 0 && letter < ALPHABET_SIZE)
+                letters[length++] = (byte) letter;
+        }
+
+        return score(letters, length);
+    }
+
+    /**
+     * Returns the log10 probability given to quadgrams that never appeared in the corpus.
+     *
+     * @return the floor probability
+     */
+    public float getFloor() {
+        return floor;
+    }
+}
@@ -3,6 +3,7 @@ import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -11,6 +12,9 @@ import java.util.*;
  *
  * Date: 09/06/2021
  * Purpose: To attempt to decode encrypted messages using substitution cipher logic.
+ *
+ * The decipher methods which are not given a language pick it from the message's letter counts (see
+ * LanguageProfile.detect), which is the default language while it is the only one registered.
  */
 public class Part1 {
 
@@ -23,6 +27,19 @@ public class Part1 {
 
         // handle I/O exceptions
         try {
+            // load the shared dictionary up front and report its cost
+            System.out.println("\nDictionary " + Dictionary.getInstance());
+
+            // let the user choose how to attack the messages
+            Solver[] solvers = Solver.values();
+            System.out.print("\nPlease select a solver:");
+
+            for (int i = 0; i < solvers.length; ++i)
+                System.out.print("\n\t" + (i + 1) + ") " + solvers[i].getDescription());
+
+            System.out.print("\n >> ");
+            Solver solver = solvers[Functions.checkIntRange(1, solvers.length) - 1];
+
             StringBuilder message;
 
             // loop until the user chooses to quit
@@ -51,7 +68,7 @@ public class Part1 {
                             /*
                                 Part 1 - decipher encrypted texts using a simple substitution cipher
                              */
-                    String[] result = Part1.decipher(message.toString());
+                    String[] result = Part1.decipher(message.toString(), solver);
 
 
                     // normalize the time given in nanoseconds
@@ -80,184 +97,257 @@ public class Part1 {
     }
 
     /**
-     * Deciphers an encrypted message using substitution cipher logic and returns the result as a String.
+     * Deciphers an encrypted message using substitution cipher logic and returns the result as a String. Like
+     * the other solvers, the cheap affine tier and the shared CrackCache are tried before the full search, and
+     * the language of the message is picked from its letter counts first (see LanguageProfile.detect).
      *
      * @param encodedMessage the encrypted message that we are attempting to decode
      * @return the decoded message as a String
      */
     public static String[] decipher(String encodedMessage) throws IOException {
+        // never stop early; every candidate key is tried if the affine tier does not answer the message
+        return decipher(encodedMessage, Solver.BRUTE_FORCE);
+    }
 
-        // the list of dictionary words; use a set to prevent duplicates
-        /*
-            Dictionary source from Gwicks:
-            http://www.gwicks.net/dictionaries.htm
-         */
-        Set<String> dictionaryWords = Functions.readWordsFromDictionary("dictionary.txt");
-
-
-        // the alphabet map of values used for all messages
-        String alphabet = "abcdefghijklmnopqrstuvwxyz";
-
-
-        // the size of the alphabet (prevents multiple calls to .length() function within loops)
-        int alphabetSize = alphabet.length();
-        // the set of random keys
-        Set<String> possibleKeys = new HashSet<>();
-        // the current modified alphabet key to build upon using the provided alphabet map
-        StringBuilder currentKey = new StringBuilder();
-        // the message split and separated by spaces (to uniformly decode messages regardless of formatting)
-        String[] splitMessage = encodedMessage.toLowerCase(Locale.ROOT).split(" ");
-
+    /**
+     * Deciphers an encrypted message using the chosen solver and returns the result as a String. The language of
+     * the message is picked from its letter counts first (see LanguageProfile.detect).
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param solver the strategy used to search for the key
+     * @return the decoded message as a String
+     */
+    public static String[] decipher(String encodedMessage, Solver solver) throws IOException {
+        return decipher(encodedMessage, solver, LanguageProfile.detect(encodedMessage));
+    }
 
-        // add all rotational shifts to the possible keys
-        for (int i = 0; i < alphabetSize; ++i) {
-            for (int j = 0; j < alphabetSize; ++j) {
-                currentKey.append(alphabet.charAt((i + j) % 26));
+    /**
+     * Deciphers an encrypted message written in a given language using the chosen solver and returns the result
+     * as a String. Results are remembered by the shared CrackCache.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param solver the strategy used to search for the key
+     * @param language the language of the message
+     * @return the decoded message as a String
+     */
+    public static String[] decipher(String encodedMessage, Solver solver, LanguageProfile language)
+            throws IOException {
+        // answer messages which were already cracked (or are the same message under another key) straight away
+        CrackCache cache = CrackCache.getInstance();
+        String[] result = cache.get(encodedMessage, solver, language);
+
+        if (result != null)
+            return result;
+
+        // most messages encrypted with a shift or an affine key are answered without a full search
+        if (solver.isMonoalphabetic()) {
+            result = decipherByAffineKey(encodedMessage, language);
+
+            if (result.length > 0) {
+                cache.put(encodedMessage, solver, language, result);
+                return result;
             }
-
-            // add the complete key (should be the size of the alphabet)
-            possibleKeys.add(currentKey.toString());
-            // reset the current key to an empty String
-            currentKey.delete(0, currentKey.length());
         }
 
-        // add all simple substitution keys using our dictionary
-        for (String word : dictionaryWords) {
-            // store the length to prevent excessive method calls within the loop
-            int wordLength = word.length();
+        result = switch (solver) {
+            case BRUTE_FORCE -> decipherByBruteForce(encodedMessage, language);
+            case COVERAGE -> decipherAsync(encodedMessage, language, CrackJob.Scoring.COVERAGE,
+                    CandidateKeys.DEFAULT_NUM_OF_KEYS, null, Double.POSITIVE_INFINITY, CandidateKeys.defaultSeed())
+                    .join();
+            case HILL_CLIMBING -> new HillClimber(language).decipher(encodedMessage);
+            case WORD_PATTERN -> decipherByWordPattern(encodedMessage, language);
+            case VIGENERE -> new VigenereSolver(language, VigenereSolver.DEFAULT_MAX_PERIOD).decipher(encodedMessage);
+        };
 
-            // decode each character in the word
-            for (int i = 0; i < wordLength; ++i) {
-                // add each non-repeating character of the word to the key
-                if (!currentKey.toString().contains(String.valueOf(word.charAt(i)))) {
-                    currentKey.append(word.charAt(i));
-                }
-            }
-
-            // add the rest of the alphabet to the end of the key
-            for (int i = 0; i < alphabetSize; ++i) {
-                // add the alphabet character to the key if it doesn't yet exist
-                if (!currentKey.toString().contains(String.valueOf(alphabet.charAt(i)))) {
-                    currentKey.append(alphabet.charAt(i));
-                }
-            }
-
-            // add the complete key (should be the size of the alphabet)
-            possibleKeys.add(currentKey.toString());
-            // reset the current key to an empty String
-            currentKey.delete(0, currentKey.length());
-        }
+        cache.put(encodedMessage, solver, language, result);
 
-        ArrayList<String> reversedKeys = new ArrayList<>();
+        return result;
+    }
 
-        // reverse all previous keys
-        for (String key : possibleKeys)
-            reversedKeys.add(Functions.reverseString(key));
+    /**
+     * Tries every shift and affine key, scored by the message's letter counts alone, as a cheap first tier
+     * before the full searches.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @return the decoded message and its key, or an empty array if no affine key decodes it confidently
+     */
+    public static String[] decipherByAffineKey(String encodedMessage, LanguageProfile language) throws IOException {
+        // lazy way to measure the crack when the fast path answers it
+        long startTime = System.nanoTime();
+        String[] result = new AffineSolver(language).decipher(encodedMessage);
+        CrackMetrics metrics = CrackMetrics.getInstance();
 
-        // add all reversed keys to the potential key candidates
-        possibleKeys.addAll(reversedKeys);
+        metrics.recordFastPath(result.length > 0);
 
-        // remove all whitespace from the message
-        String trimmedMessage = encodedMessage.replaceAll(" ", "");
+        if (result.length > 0)
+            metrics.recordCrack(System.nanoTime() - startTime);
 
-        // attempt to use frequency analysis to generate likely keys
-        ArrayList<String> frequencyKey =
-                Functions.getKeyByFrequency("letter_frequencies.txt", alphabet, trimmedMessage, 1);
+        return result;
+    }
 
-        // convert the alphabet into a list, so we can directly compare the missing elements
-        String[] splitAlphabet = alphabet.split("");
-        ArrayList<String> alphabetAsList = new ArrayList<>(Arrays.asList(splitAlphabet));
+    /**
+     * Deciphers an encrypted message by matching its words to dictionary words with the same letter pattern,
+     * falling back to the brute-force search if the message has no spaces between its words or no key matches.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @return the decoded message as a String
+     */
+    private static String[] decipherByWordPattern(String encodedMessage, LanguageProfile language)
+            throws IOException {
+        return decipherByWordPattern(encodedMessage, language, false);
+    }
 
-        // get the missing keys from the frequency analysis
-        ArrayList<String> missingLetters =
-                Functions.getMissingElements(frequencyKey, alphabetAsList);
+    /**
+     * Deciphers an encrypted message by matching its words to dictionary words with the same letter pattern,
+     * falling back to the brute-force search if no key matches. Whether the spaces of the message fall between
+     * its words is guessed from their layout (see WordPatternSolver.hasWordBoundaries) unless the caller knows;
+     * a message made only of five-letter words looks the same as the letter groups of Part2a.encrypt, so it is
+     * only matched word by word when the caller says so. The result is not cached, like decipherByAffineKey.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @param spacedWords true if the spaces of the message are known to fall between its words
+     * @return the decoded message as a String
+     */
+    public static String[] decipherByWordPattern(String encodedMessage, LanguageProfile language,
+                                                 boolean spacedWords) throws IOException {
+        if (spacedWords || WordPatternSolver.hasWordBoundaries(encodedMessage)) {
+            String[] result = new WordPatternSolver(language).decipher(encodedMessage);
 
-        // store the size to prevent excessive method calls within the loop
-        int frequencySize = frequencyKey.size();
+            if (result.length > 0)
+                return result;
+        }
 
-        // add random keys now after getting the initial characters gathered from frequency analysis
-        for (long i = 500_000 - possibleKeys.size(); i > 0; --i) {
-            // create copies of the frequencies and missing letters, so we can reuse them
-            ArrayList<String> frequencyCopy = new ArrayList<>(frequencyKey);
-            ArrayList<String> missingCopy = new ArrayList<>(missingLetters);
+        return decipherByBruteForce(encodedMessage, language);
+    }
 
-            // randomly shuffle the leftover characters
-            Collections.shuffle(missingCopy);
+    /**
+     * Deciphers an encrypted message written in a given language by trying every candidate key.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @return the decoded message as a String
+     */
+    private static String[] decipherByBruteForce(String encodedMessage, LanguageProfile language)
+            throws IOException {
+        return decipherAsync(encodedMessage, language, CandidateKeys.DEFAULT_NUM_OF_KEYS, null,
+                Double.POSITIVE_INFINITY, CandidateKeys.defaultSeed()).join();
+    }
 
-            // keep track of the missing letters not yet added back to the key
-            int count = 0;
+    /**
+     * Deciphers an encrypted message using substitution cipher logic and returns the result as a String.
+     * The candidate keys are tried in parallel on the shared CrackScheduler, and all workers stop as soon as one
+     * decoded message reaches the confidence threshold. The cheap affine tier is tried first, but the result is
+     * not cached, since a search which stops early may settle on a different match than a full one. The
+     * language of the message is picked from its letter counts first (see LanguageProfile.detect).
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     * @return the decoded message as a String
+     */
+    public static String[] decipher(String encodedMessage, double confidenceThreshold) throws IOException {
+        LanguageProfile language = LanguageProfile.detect(encodedMessage);
+        // most messages encrypted with a shift or an affine key are answered without a full search
+        String[] result = decipherByAffineKey(encodedMessage, language);
 
-            // iterate through the key utilizing frequency analysis
-            for (int j = 0; j < frequencySize; ++j) {
-                // check if the current key has an empty placeholder at each index
-                if (frequencyCopy.get(j).equals("")) {
-                    // replace the placeholder with a missing letter
-                    frequencyCopy.add(j, missingCopy.get(count));
-                    frequencyCopy.remove(j + 1);
-                    ++count;
-                }
-            }
+        if (result.length > 0)
+            return result;
 
-            StringBuilder newKey = new StringBuilder();
+        return decipherAsync(encodedMessage, language, CandidateKeys.DEFAULT_NUM_OF_KEYS, null, confidenceThreshold,
+                CandidateKeys.defaultSeed()).join();
+    }
 
-            // convert the completed random key to a String
-            for (String str : frequencyCopy)
-                newKey.append(str);
+    /**
+     * Starts deciphering an encrypted message written in the default language on the shared CrackScheduler
+     * without waiting for it. The returned job publishes each better match as it is found, and can be cancelled.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, or null for no limit
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     * @return the running job
+     */
+    public static CrackJob decipherAsync(String encodedMessage, long keyBudget, Duration timeLimit,
+                                         double confidenceThreshold) {
+        return decipherAsync(encodedMessage, keyBudget, timeLimit, confidenceThreshold, CandidateKeys.defaultSeed());
+    }
 
-            // add the randomized key to our list
-            possibleKeys.add(newKey.toString());
-        }
+    /**
+     * Starts deciphering an encrypted message written in the default language on the shared CrackScheduler,
+     * drawing the random keys from a seed so that the crack can be repeated.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, or null for no limit
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     * @param seed the seed of the random keys
+     * @return the running job
+     */
+    public static CrackJob decipherAsync(String encodedMessage, long keyBudget, Duration timeLimit,
+                                         double confidenceThreshold, long seed) {
+        return decipherAsync(encodedMessage, LanguageProfile.getDefault(), keyBudget, timeLimit, confidenceThreshold,
+                seed);
+    }
 
+    /**
+     * Starts deciphering an encrypted message written in a given language on the shared CrackScheduler.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, or null for no limit
+     * @param confidenceThreshold the average word length at which a decoded message is accepted immediately
+     * @param seed the seed of the random keys
+     * @return the running job
+     */
+    public static CrackJob decipherAsync(String encodedMessage, LanguageProfile language, long keyBudget,
+                                         Duration timeLimit, double confidenceThreshold, long seed) {
+        return decipherAsync(encodedMessage, language, CrackJob.Scoring.SENTENCE, keyBudget, timeLimit,
+                confidenceThreshold, seed);
+    }
 
-        // a list of all possible intelligible messages
-        ArrayList<ArrayList<String>> possibleMatches = new ArrayList<>();
-        // a list of the keys which correspond to the matches above (they should have matching indexes)
-        ArrayList<String> keysToMatches = new ArrayList<>();
-        // a flag which will let us know whether there was an intelligible message
-        boolean foundPossibleMatch = false;
-
-        // decipher the encoded message using all possible keys
-        for (String key : possibleKeys) {
-            // store the message that will be decoded in a single mutable String
-            StringBuilder decodedString = new StringBuilder();
-
-            // decode each word in the message
-            for (String word : splitMessage) {
-                // store the length to prevent excessive method calls within the loop
-                int wordLength = word.length();
-
-                // decode each character in the word
-                for (int i = 0; i < wordLength; ++i) {
-                    // exclude special characters
-                    if (Character.isLetter(word.charAt(i)))
-                        /*
-                            Use the modified alphabet key to replace each encoded character
-                            with the corresponding character in the modified key
-                            Then add the decoded character to the decoded message String
-                         */
-                        decodedString.append(alphabet.charAt(key.indexOf(word.charAt(i))));
-                }
-            }
+    /**
+     * Starts deciphering an encrypted message written in a given language on the shared CrackScheduler, judging
+     * each decoded message as chosen.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @param language the language of the message
+     * @param scoring how each decoded message is judged
+     * @param keyBudget the most keys to try
+     * @param timeLimit how long the crack may run, or null for no limit
+     * @param confidenceThreshold the score at which a decoded message is accepted immediately
+     * @param seed the seed of the random keys
+     * @return the running job
+     */
+    public static CrackJob decipherAsync(String encodedMessage, LanguageProfile language, CrackJob.Scoring scoring,
+                                         long keyBudget, Duration timeLimit, double confidenceThreshold, long seed) {
+        return CrackScheduler.getShared().submit(
+                new CrackJob(encodedMessage, language, scoring, keyBudget, timeLimit, confidenceThreshold, seed));
+    }
 
-            // separate the single string into a list of separated valid words
-            ArrayList<String> decodedMessage = Functions.formSentence(decodedString.toString(), dictionaryWords);
-
-            // check if the function returned a full sentence of valid words
-            if (decodedMessage.size() > 0) {
-                // the words are all valid; add them to our list of intelligible decoded messages
-                possibleMatches.add(decodedMessage);
-                // add the key which corresponds to the potential match using the same index
-                keysToMatches.add(key);
-                // update the flag which tells us we have at least one intelligible decoded message
-                foundPossibleMatch = true;
-            }
+    /**
+     * Returns the lowercase letters of a message, excluding whitespace and special characters.
+     *
+     * @param message the message to trim
+     * @return the letters of the message
+     */
+    static char[] lettersOf(String message) {
+        String lowercase = message.toLowerCase(Locale.ROOT);
+        // store the length to prevent excessive method calls within the loop
+        int messageLength = lowercase.length();
+        char[] letters = new char[messageLength];
+        int numOfLetters = 0;
+
+        for (int i = 0; i < messageLength; ++i) {
+            char c = lowercase.charAt(i);
+
+            // exclude special characters
+            if (c >= 'a' && c <= 'z')
+                letters[numOfLetters++] = c;
         }
 
-        // if we didn't find a valid message, let the user know there are no matches
-        if (foundPossibleMatch)
-            return Functions.findMostLikelyMatch(possibleMatches, keysToMatches);
-
-        // if we've reached this point, we didn't find any matches; return an empty array
-        return new String[0];
+        return Arrays.copyOf(letters, numOfLetters);
     }
 }
@@ -95,46 +95,66 @@ public class Part2a {
      */
     public static String encrypt(String message, String key) {
 
+        // lazy way to measure the latency of each encryption
+        long startTime = System.nanoTime();
         // convert the original message to all lowercase for standardization
         message = message.toLowerCase(Locale.ROOT);
-        // store all letter characters within a string when standardizing the encrypted message
-        StringBuilder encodedString = new StringBuilder();
         // store the length to prevent excessive method calls within the loop
         int messageLength = message.length();
-        // set a counter which resets after every 5th letter (for standard encryption standards)
-        int count = 0;
+        // store only the letters of the message (for standard encryption standards)
+        char[] letters = new char[messageLength];
+        int numOfLetters = 0;
 
         // iterate through each character in the message
         for (int i = 0; i < messageLength; ++i) {
-            // only add characters which are letters for standardization
-            if (Character.isLetter(message.charAt(i))) {
-                encodedString.append(message.charAt(i));
-                // update the count flag for adding spaces
-                ++count;
-            }
+            char c = message.charAt(i);
 
-            // add a space every 5th letter
-            if (count == 5) {
-                encodedString.append(" ");
-                count = 0;
-            }
+            // only add characters which are letters for standardization
+            if (c >= 'a' && c <= 'z')
+                letters[numOfLetters++] = c;
         }
 
-        // store the length to prevent excessive method calls within the loop
-        int encodedStringLength = encodedString.length();
+        // encode every letter in place using the key's lookup table
+        SubstitutionKey.of(key).encrypt(letters, 0, letters, 0, numOfLetters);
 
-        // encode each character in the converted message
-        for (int i = 0; i < encodedStringLength; ++i) {
-            /*
-                Use the modified alphabet key to replace each standardized character with the corresponding
-                character in the modified key, then add the encoded character to the StringBuilder
-            */
-            if (Character.isLetter(encodedString.charAt(i)))
-                encodedString.replace(i, i + 1,
-                        Character.toString(key.charAt((int) encodedString.charAt(i) - 97)));
+        // add a space every 5th letter
+        String encodedMessage = Functions.groupLetters(letters, numOfLetters, 5);
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordEncrypt(latency);
+
+        return encodedMessage;
+    }
+
+    /**
+     * Encrypts a given message with a Vigenere cipher: each letter is shifted along the alphabet by the next
+     * letter of the keyword, which repeats for the length of the message.
+     *
+     * @param message the original message to encrypt
+     * @param keyword the keyword, made of lowercase letters a-z
+     * @return the encrypted message as a String
+     */
+    public static String encryptVigenere(String message, String keyword) {
+
+        // lazy way to measure the latency of each encryption
+        long startTime = System.nanoTime();
+        // the shift of each letter of the keyword
+        int[] shifts = Functions.getKeywordShifts(keyword);
+        // only the letters of the message, lowercased (for standard encryption standards)
+        char[] letters = Part1.lettersOf(message);
+
+        // shift each letter by the keyword letter in the same position
+        for (int i = 0, k = 0; i < letters.length; ++i) {
+            letters[i] = (char) ('a' + (letters[i] - 'a' + shifts[k]) % 26);
+
+            if (++k == shifts.length)
+                k = 0;
         }
 
-        // format the String to skip to the next line every 15th word and return it
-        return Functions.getArrayAsString(encodedString.toString().split(" "));
+        // add a space every 5th letter
+        String encodedMessage = Functions.groupLetters(letters, letters.length, 5);
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordEncrypt(latency);
+
+        return encodedMessage;
     }
 }
@@ -4,7 +4,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
-import java.util.Set;
 
 /**
  * @author Steven Dao
@@ -99,49 +98,108 @@ public class Part2b {
      * @return the decrypted message as a String
      */
     public static String decrypt(String encodedMessage, String key) throws IOException {
+        return decrypt(encodedMessage, key, LanguageProfile.getDefault());
+    }
 
-        // split the message to remove whitespace
-        String[] splitMessage = encodedMessage.split(" ");
-        // convert to StringBuilder, so we can eventually replace characters within the String
-        StringBuilder decodedString = new StringBuilder();
-
-        // add all characters together into a single String without whitespace
-        for (String str : splitMessage)
-            decodedString.append(str);
+    /**
+     * Decrypts a given message using the provided key, splitting it into the words of a given language.
+     *
+     * @param encodedMessage the encrypted message
+     * @param key the modified alphabet key used to encrypt the message
+     * @param language the language of the message
+     * @return the decrypted message as a String
+     */
+    public static String decrypt(String encodedMessage, String key, LanguageProfile language) throws IOException {
 
-        // the original alphabet key
-        String alphabet = "abcdefghijklmnopqrstuvwxyz";
+        // lazy way to measure the latency of each decryption
+        long startTime = System.nanoTime();
         // store the length to prevent excessive method calls within the loop
-        int decodedStringLength = decodedString.length();
-
-        // encode each character in the converted message
-        for (int i = 0; i < decodedStringLength; ++i) {
-            /*
-                Use the modified alphabet key to replace each standardized character with the corresponding
-                character in the modified key, then add the encoded character to the StringBuilder
-            */
-            if (Character.isLetter(decodedString.charAt(i)))
-                decodedString.replace(i, i + 1,
-                        Character.toString(alphabet.charAt(key.indexOf(decodedString.charAt(i)))));
+        int encodedMessageLength = encodedMessage.length();
+        // the message without whitespace, decoded in place
+        char[] decodedChars = new char[encodedMessageLength];
+        int decodedLength = 0;
+
+        // add all characters together into a single array without whitespace
+        for (int i = 0; i < encodedMessageLength; ++i) {
+            char c = encodedMessage.charAt(i);
+
+            if (c != ' ')
+                decodedChars[decodedLength++] = c;
         }
 
-        // the list of dictionary words; use a set to prevent duplicates
         /*
-            Dictionary source from Gwicks:
-            http://www.gwicks.net/dictionaries.htm
-         */
-        Set<String> dictionaryWords = Functions.readWordsFromDictionary("dictionary.txt");
+            Use the key's inverse lookup table to replace each encoded letter with the
+            corresponding letter of the original alphabet
+        */
+        SubstitutionKey.of(key).decrypt(decodedChars, 0, decodedChars, 0, decodedLength);
+        String decodedString = new String(decodedChars, 0, decodedLength);
+
+        // the language's dictionary words as a prefix tree, shared with every other caller and only read once
+        WordTrie dictionaryTrie = language.getDictionary().getTrie();
 
         // separate the single String into a list of valid words from our dictionary
-        ArrayList<String> decodedWords = Functions.formSentence(decodedString.toString(), dictionaryWords);
+        ArrayList<String> decodedWords = Functions.formSentence(decodedString, dictionaryTrie);
 
         /*
             Format only the list of valid words in ou message (excluding the key) into a
             properly spaced sentence and return it
          */
-        return Functions.getArrayAsString(new String[] {
+        String decodedMessage = Functions.getArrayAsString(new String[] {
                 Functions.findMostLikelyMatch(new ArrayList<>() {{add(decodedWords);}},
                 new ArrayList<>() {{add(key);}})[0]
         });
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordDecrypt(latency);
+
+        return decodedMessage;
+    }
+
+    /**
+     * Decrypts a message encrypted with a Vigenere cipher, shifting each letter back by the keyword letter in the
+     * same position.
+     *
+     * @param encodedMessage the encrypted message
+     * @param keyword the keyword, made of lowercase letters a-z
+     * @return the decrypted message, separated into words if it is made of dictionary words, or its letters if not
+     */
+    public static String decryptVigenere(String encodedMessage, String keyword) throws IOException {
+        return decryptVigenere(encodedMessage, keyword, LanguageProfile.getDefault());
+    }
+
+    /**
+     * Decrypts a message encrypted with a Vigenere cipher, splitting it into the words of a given language.
+     *
+     * @param encodedMessage the encrypted message
+     * @param keyword the keyword, made of lowercase letters a-z
+     * @param language the language of the message
+     * @return the decrypted message, separated into words if it is made of dictionary words, or its letters if not
+     */
+    public static String decryptVigenere(String encodedMessage, String keyword, LanguageProfile language)
+            throws IOException {
+
+        // lazy way to measure the latency of each decryption
+        long startTime = System.nanoTime();
+        // the shift of each letter of the keyword
+        int[] shifts = Functions.getKeywordShifts(keyword);
+        // the letters of the message without whitespace, decoded in place
+        char[] letters = Part1.lettersOf(encodedMessage);
+
+        for (int i = 0, k = 0; i < letters.length; ++i) {
+            letters[i] = (char) ('a' + (letters[i] - 'a' + 26 - shifts[k]) % 26);
+
+            if (++k == shifts.length)
+                k = 0;
+        }
+
+        String decodedString = new String(letters);
+
+        // separate the decoded message into words; fall back to the raw letters if that is not possible
+        ArrayList<String> decodedWords = Functions.formSentence(decodedString, language.getDictionary().getTrie());
+        String decodedMessage = decodedWords.isEmpty() ? decodedString
+                : Functions.getArrayListAsString(decodedWords);
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordDecrypt(latency);
+
+        return decodedMessage;
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Replaces the lowercase ASCII letters of a run of bytes one byte at a time; it runs on every JVM, and
+ *          finishes the last few bytes which do not fill a vector for the SIMD kernel.
+ */
+public final class ScalarSubstitutionKernel implements SubstitutionKernel {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+
+    @Override
+    public void transform(byte[] table, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        for (int i = 0; i < length; ++i) {
+            byte b = src[srcOffset + i];
+            int letter = b - 'a';
+
+            dst[dstOffset + i] = letter >= 0 && letter < ALPHABET_SIZE ? (byte) ('a' + table[letter]) : b;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
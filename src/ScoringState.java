@@ -0,0 +1,186 @@
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Keeps a message decoded with a key, along with its quadgram score, so that swapping two letters of
+ *          the key only rescores the quadgrams that contain those letters instead of the whole message.
+ */
+public class ScoringState {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the number of letters in each n-gram
+    private static final int N = NGramTable.N;
+
+    // the table used to score each quadgram
+    private final NGramTable nGramTable;
+    // the encrypted message as values 0-25
+    private final byte[] cipherLetters;
+    // the message decoded with the current key
+    private final byte[] plainLetters;
+    // the current key, mapping each cipher letter to a plaintext letter
+    private final byte[] decryptKey = new byte[ALPHABET_SIZE];
+    // the positions of each cipher letter in the message
+    private final int[][] positions = new int[ALPHABET_SIZE][];
+    // the number of quadgrams in the message
+    private final int numOfQuadgrams;
+
+    /*
+        The quadgrams touched by a swap, gathered without duplicates: a quadgram is in the list if its mark
+        equals the current generation, so the marks never need to be cleared
+     */
+    private final int[] touched;
+    private final int[] marks;
+    private int generation = 0;
+
+    // the score of the message decoded with the current key
+    private double fitness;
+
+    /**
+     * Decodes the message with the key and scores it.
+     *
+     * @param nGramTable the table used to score each quadgram
+     * @param cipherLetters the encrypted message as values 0-25
+     * @param decryptKey the starting key, mapping each cipher letter to a plaintext letter; it is copied
+     */
+    public ScoringState(NGramTable nGramTable, byte[] cipherLetters, byte[] decryptKey) {
+        // store the length to prevent excessive method calls within the loops
+        int messageLength = cipherLetters.length;
+
+        this.nGramTable = nGramTable;
+        this.cipherLetters = cipherLetters;
+        this.plainLetters = new byte[messageLength];
+        this.numOfQuadgrams = Math.max(0, messageLength - N + 1);
+        this.touched = new int[numOfQuadgrams];
+        this.marks = new int[numOfQuadgrams];
+
+        // count each cipher letter first, so that each position list is allocated at its exact size
+        int[] counts = new int[ALPHABET_SIZE];
+
+        for (byte letter : cipherLetters)
+            ++counts[letter];
+
+        for (int letter = 0; letter < ALPHABET_SIZE; ++letter)
+            positions[letter] = new int[counts[letter]];
+
+        int[] filled = new int[ALPHABET_SIZE];
+
+        for (int i = 0; i < messageLength; ++i)
+            positions[cipherLetters[i]][filled[cipherLetters[i]]++] = i;
+
+        reset(decryptKey);
+    }
+
+    /**
+     * Replaces the whole key, then decodes and scores the message from scratch.
+     *
+     * @param decryptKey the new key, mapping each cipher letter to a plaintext letter; it is copied
+     */
+    public void reset(byte[] decryptKey) {
+        System.arraycopy(decryptKey, 0, this.decryptKey, 0, ALPHABET_SIZE);
+
+        for (int i = 0; i < cipherLetters.length; ++i)
+            plainLetters[i] = decryptKey[cipherLetters[i]];
+
+        fitness = nGramTable.score(plainLetters, plainLetters.length);
+    }
+
+    /**
+     * Swaps the plaintext letters of two cipher letters in the key, updating the decoded message and its score.
+     * Only the quadgrams which contain one of the two cipher letters are rescored; swapping the same pair again
+     * undoes the swap.
+     *
+     * @param a the first cipher letter, 0-25
+     * @param b the second cipher letter, 0-25
+     * @return the change in score caused by the swap
+     */
+    public double swap(int a, int b) {
+        if (a == b)
+            return 0;
+
+        // start a new touched list
+        ++generation;
+        int numOfTouched = touch(positions[a], touch(positions[b], 0));
+        double before = sum(numOfTouched);
+
+        byte temp = decryptKey[a];
+        decryptKey[a] = decryptKey[b];
+        decryptKey[b] = temp;
+
+        for (int position : positions[a])
+            plainLetters[position] = decryptKey[a];
+
+        for (int position : positions[b])
+            plainLetters[position] = decryptKey[b];
+
+        double delta = sum(numOfTouched) - before;
+        fitness += delta;
+
+        return delta;
+    }
+
+    /**
+     * Adds the quadgrams which contain any of the positions to the touched list, skipping the ones already in it.
+     *
+     * @param letterPositions the positions of a cipher letter
+     * @param numOfTouched the number of quadgrams already in the list
+     * @return the new number of quadgrams in the list
+     */
+    private int touch(int[] letterPositions, int numOfTouched) {
+        for (int position : letterPositions) {
+            // a letter belongs to the (up to) 4 quadgrams which start at most 3 letters before it
+            int first = Math.max(0, position - N + 1);
+            int last = Math.min(numOfQuadgrams - 1, position);
+
+            for (int start = first; start <= last; ++start) {
+                if (marks[start] != generation) {
+                    marks[start] = generation;
+                    touched[numOfTouched++] = start;
+                }
+            }
+        }
+
+        return numOfTouched;
+    }
+
+    /**
+     * Returns the total score of the touched quadgrams, as they are currently decoded.
+     *
+     * @param numOfTouched the number of quadgrams in the touched list
+     * @return the sum of their scores
+     */
+    private double sum(int numOfTouched) {
+        double total = 0;
+
+        for (int i = 0; i < numOfTouched; ++i) {
+            int start = touched[i];
+            int index = ((plainLetters[start] * ALPHABET_SIZE + plainLetters[start + 1]) * ALPHABET_SIZE +
+                    plainLetters[start + 2]) * ALPHABET_SIZE + plainLetters[start + 3];
+
+            total += nGramTable.logProbability(index);
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns the score of the message decoded with the current key. The score is kept up to date by adding the
+     * change of each swap, so after many swaps it can differ from scoring the message from scratch by a rounding
+     * error (far below the smallest difference between two keys); reset rescores it from scratch.
+     *
+     * @return the current score
+     */
+    public double getFitness() {
+        return fitness;
+    }
+
+    /**
+     * Copies the current key into an array.
+     *
+     * @param destination the array to copy the key into; maps each cipher letter to a plaintext letter
+     */
+    public void copyKeyTo(byte[] destination) {
+        System.arraycopy(decryptKey, 0, destination, 0, ALPHABET_SIZE);
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: The strategies available for deciphering an encrypted message.
+ */
+public enum Solver {
+
+    // try a large, fixed set of candidate keys and keep the one which forms the best sentence
+    BRUTE_FORCE("Brute-force key search"),
+    // start from frequency analysis and swap letters of the key while the quadgram score improves
+    HILL_CLIMBING("Hill climbing with quadgram scoring"),
+    // match each encrypted word to dictionary words with the same letter pattern (needs spaces between words)
+    WORD_PATTERN("Dictionary word-pattern search (keeps the spaces between words)"),
+    // find the length of a Vigenere keyword by index of coincidence, then each of its letters by chi-squared
+    VIGENERE("Vigenere keyword search (polyalphabetic ciphers)"),
+    // try the same keys as BRUTE_FORCE, but keep the one whose message is most covered by dictionary words
+    COVERAGE("Brute-force key search scored by word coverage (tolerates names, typos and numbers)");
+
+    // the name shown to the user when choosing a solver
+    private final String description;
+
+    Solver(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the name shown to the user when choosing a solver.
+     *
+     * @return the description of the solver
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the solver's keys are modified alphabet keys, which replace each letter with the same letter
+     * everywhere in the message.
+     *
+     * @return true for the simple substitution solvers, false for Vigenere keywords
+     */
+    public boolean isMonoalphabetic() {
+        return this != VIGENERE;
+    }
+}
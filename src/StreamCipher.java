@@ -0,0 +1,293 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Encrypts and decrypts files and streams of any size using fixed-size buffers, so that memory use does
+ *          not grow with the size of the message.
+ */
+public class StreamCipher {
+
+    // the number of bytes read from the input at a time
+    public static final int BUFFER_SIZE = 64 * 1024;
+    // the number of letters in each group of the encrypted output (for standard encryption standards)
+    public static final int GROUP_SIZE = 5;
+    // the number of bytes of a file mapped into memory at a time
+    private static final long MAP_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Encrypts or decrypts a run of bytes and writes the result to a channel, carrying the letter count of the
+     * grouping over from one buffer to the next.
+     */
+    private static class Transformer {
+        private final SubstitutionKey key;
+        private final boolean encrypt;
+        private final boolean grouped;
+        private final WritableByteChannel out;
+        // room for a full input buffer plus one space for every group of letters
+        private final ByteBuffer outBuffer = ByteBuffer.allocate(BUFFER_SIZE + BUFFER_SIZE / GROUP_SIZE + 1);
+        // the number of letters written so far, used to place the spaces between groups
+        private long numOfLetters = 0;
+        // the number of bytes written so far
+        private long bytesWritten = 0;
+
+        private Transformer(SubstitutionKey key, boolean encrypt, boolean grouped, WritableByteChannel out) {
+            this.key = key;
+            this.encrypt = encrypt;
+            this.grouped = grouped;
+            this.out = out;
+        }
+
+        /**
+         * Transforms a run of at most BUFFER_SIZE bytes and writes them out.
+         *
+         * @param src the bytes to transform
+         * @param length the number of bytes to use from the array
+         */
+        private void process(byte[] src, int length) throws IOException {
+            byte[] dst = outBuffer.array();
+            int dstLength;
+
+            if (encrypt) {
+                dstLength = 0;
+
+                // keep only the letters (lowercased) for standardization, adding a space between each group
+                for (int i = 0; i < length; ++i) {
+                    int b = src[i];
+
+                    if (b >= 'A' && b <= 'Z')
+                        b += 'a' - 'A';
+                    else if (b < 'a' || b > 'z')
+                        continue;
+
+                    if (grouped && numOfLetters > 0 && numOfLetters % GROUP_SIZE == 0)
+                        dst[dstLength++] = ' ';
+
+                    dst[dstLength++] = (byte) ('a' + key.forward(b - 'a'));
+                    ++numOfLetters;
+                }
+            } else {
+                // decrypt in place, so that every other byte (including grouping spaces) stays where it is
+                key.decrypt(src, 0, dst, 0, length);
+                dstLength = length;
+            }
+
+            outBuffer.clear().limit(dstLength);
+
+            while (outBuffer.hasRemaining())
+                bytesWritten += out.write(outBuffer);
+        }
+    }
+
+    /**
+     * Encrypts everything from the input channel and writes it to the output channel. Only letters are kept
+     * (lowercased), the same as Part2a.encrypt.
+     *
+     * @param in the channel to read the original message from
+     * @param out the channel to write the encrypted message to
+     * @param key the key used to encrypt the message
+     * @param grouped whether to add a space after every 5 letters
+     * @return the number of bytes written
+     */
+    public static long encrypt(ReadableByteChannel in, WritableByteChannel out, SubstitutionKey key,
+                               boolean grouped) throws IOException {
+        return transform(in, new Transformer(key, true, grouped, out));
+    }
+
+    /**
+     * Decrypts everything from the input channel and writes it to the output channel. Every letter is replaced
+     * in place; every other byte is copied unchanged.
+     *
+     * @param in the channel to read the encrypted message from
+     * @param out the channel to write the decrypted message to
+     * @param key the key used to decrypt the message
+     * @return the number of bytes written
+     */
+    public static long decrypt(ReadableByteChannel in, WritableByteChannel out, SubstitutionKey key)
+            throws IOException {
+        return transform(in, new Transformer(key, false, false, out));
+    }
+
+    /**
+     * Encrypts everything from the input stream and writes it to the output stream.
+     *
+     * @param in the stream to read the original message from
+     * @param out the stream to write the encrypted message to
+     * @param key the key used to encrypt the message
+     * @param grouped whether to add a space after every 5 letters
+     * @return the number of bytes written
+     */
+    public static long encrypt(InputStream in, OutputStream out, SubstitutionKey key, boolean grouped)
+            throws IOException {
+        return encrypt(Channels.newChannel(in), Channels.newChannel(out), key, grouped);
+    }
+
+    /**
+     * Decrypts everything from the input stream and writes it to the output stream.
+     *
+     * @param in the stream to read the encrypted message from
+     * @param out the stream to write the decrypted message to
+     * @param key the key used to decrypt the message
+     * @return the number of bytes written
+     */
+    public static long decrypt(InputStream in, OutputStream out, SubstitutionKey key) throws IOException {
+        return decrypt(Channels.newChannel(in), Channels.newChannel(out), key);
+    }
+
+    /**
+     * Encrypts a file into another file.
+     *
+     * @param input the file containing the original message
+     * @param output the file to write the encrypted message to; replaced if it exists
+     * @param key the key used to encrypt the message
+     * @param grouped whether to add a space after every 5 letters
+     * @param memoryMapped whether to map the input file into memory instead of reading it
+     * @return the number of bytes written
+     */
+    public static long encryptFile(Path input, Path output, SubstitutionKey key, boolean grouped,
+                                   boolean memoryMapped) throws IOException {
+        return transformFile(input, output, key, true, grouped, memoryMapped);
+    }
+
+    /**
+     * Decrypts a file into another file.
+     *
+     * @param input the file containing the encrypted message
+     * @param output the file to write the decrypted message to; replaced if it exists
+     * @param key the key used to decrypt the message
+     * @param memoryMapped whether to map the input file into memory instead of reading it
+     * @return the number of bytes written
+     */
+    public static long decryptFile(Path input, Path output, SubstitutionKey key, boolean memoryMapped)
+            throws IOException {
+        return transformFile(input, output, key, false, false, memoryMapped);
+    }
+
+    /**
+     * Opens both files and streams the input file through the transformer.
+     */
+    private static long transformFile(Path input, Path output, SubstitutionKey key, boolean encrypt,
+                                      boolean grouped, boolean memoryMapped) throws IOException {
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            Transformer transformer = new Transformer(key, encrypt, grouped, out);
+
+            return memoryMapped ? transformMapped(in, transformer) : transform(in, transformer);
+        }
+    }
+
+    /**
+     * Reads the channel one buffer at a time and passes each buffer to the transformer.
+     *
+     * @param in the channel to read from
+     * @param transformer the transformer which writes the result
+     * @return the number of bytes written
+     */
+    private static long transform(ReadableByteChannel in, Transformer transformer) throws IOException {
+        ByteBuffer inBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        // continue to read until we've reached the end of the input
+        while (in.read(inBuffer) != -1) {
+            transformer.process(inBuffer.array(), inBuffer.position());
+            inBuffer.clear();
+        }
+
+        return transformer.bytesWritten;
+    }
+
+    /**
+     * Maps the file into memory one chunk at a time and passes it to the transformer a buffer at a time, which
+     * avoids a read system call for every buffer on very large files.
+     *
+     * @param in the file to read from
+     * @param transformer the transformer which writes the result
+     * @return the number of bytes written
+     */
+    private static long transformMapped(FileChannel in, Transformer transformer) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long fileSize = in.size();
+
+        for (long position = 0; position < fileSize; position += MAP_CHUNK_SIZE) {
+            MappedByteBuffer chunk =
+                    in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_CHUNK_SIZE, fileSize - position));
+
+            while (chunk.hasRemaining()) {
+                int length = Math.min(BUFFER_SIZE, chunk.remaining());
+
+                chunk.get(buffer, 0, length);
+                transformer.process(buffer, length);
+            }
+        }
+
+        return transformer.bytesWritten;
+    }
+
+    /**
+     * Encrypts or decrypts a file from the command line.
+     *
+     * @param args encrypt|decrypt, the key, the input file, the output file, then optionally --grouped
+     *             and/or --mmap
+     */
+    public static void main(String[] args) {
+
+        if (args.length < 4 || !(args[0].equals("encrypt") || args[0].equals("decrypt"))) {
+            System.out.println("Usage: StreamCipher encrypt|decrypt <key> <input file> <output file> " +
+                    "[--grouped] [--mmap]");
+            return;
+        }
+
+        boolean grouped = false;
+        boolean memoryMapped = false;
+
+        // read the optional flags after the required arguments
+        for (int i = 4; i < args.length; ++i) {
+            switch (args[i]) {
+                case "--grouped" -> grouped = true;
+                case "--mmap" -> memoryMapped = true;
+                default -> System.out.println("Ignoring unknown option: " + args[i]);
+            }
+        }
+
+        // handle I/O exceptions
+        try {
+            SubstitutionKey key = SubstitutionKey.of(args[1]);
+            Path input = Path.of(args[2]);
+            Path output = Path.of(args[3]);
+
+            // lazy way to estimate total execution time
+            long startTime = System.nanoTime();
+
+            long bytesWritten = args[0].equals("encrypt")
+                    ? encryptFile(input, output, key, grouped, memoryMapped)
+                    : decryptFile(input, output, key, memoryMapped);
+
+            // normalize the time given in nanoseconds
+            double endTime = (double) (System.nanoTime() - startTime) / 1_000_000_000;
+
+            System.out.println("Wrote " + bytesWritten + " bytes to " + output +
+                    "\n\t- Execution time: " + endTime + " seconds");
+
+        } // the key is not a rearrangement of the alphabet
+        catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } // file name and/or extension is incorrect, or the file is unreadable
+        catch (IOException e) {
+            System.out.println("The text file could not be read; please check the file and try again.");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Replaces the lowercase ASCII letters of a run of bytes using a substitution table. There is a plain
+ *          loop which always works, and a SIMD version which needs the incubating jdk.incubator.vector module;
+ *          the "substitution.kernel" system property chooses between them (auto, vector or scalar).
+ */
+public interface SubstitutionKernel {
+
+    // the system property which chooses the kernel
+    String KERNEL_PROPERTY = "substitution.kernel";
+
+    /**
+     * Replaces every lowercase ASCII letter using the table and copies every other byte unchanged.
+     *
+     * @param table the replacement letter (0-25) for each letter (0-25)
+     * @param src the bytes to transform
+     * @param srcOffset the index of the first byte to transform
+     * @param dst the array to write the transformed bytes to, which may be the source array itself
+     * @param dstOffset the index to write the first transformed byte to
+     * @param length the number of bytes to transform
+     */
+    void transform(byte[] table, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length);
+
+    /**
+     * Returns a short name for the kernel, for log lines.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Holds the kernel chosen for the whole program, so that it is only chosen once.
+     */
+    class Holder {
+        private static final SubstitutionKernel INSTANCE = select(System.getProperty(KERNEL_PROPERTY, "auto"));
+    }
+
+    /**
+     * Returns the kernel chosen for the whole program.
+     *
+     * @return the shared kernel
+     */
+    static SubstitutionKernel getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Chooses a kernel. The SIMD kernel is loaded by name, so that the program still runs when the vector module
+     * was not added to the JVM (it needs --add-modules jdk.incubator.vector).
+     *
+     * @param choice "vector" or "scalar" to force a kernel, or "auto" to use the SIMD kernel when it can run
+     * @return the kernel
+     */
+    static SubstitutionKernel select(String choice) {
+        if (!choice.equals("scalar")) {
+            try {
+                return (SubstitutionKernel) Class.forName("VectorSubstitutionKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+                // only complain if the SIMD kernel was asked for by name
+                if (choice.equals("vector"))
+                    System.err.println("The vector kernel is unavailable (" + e + "); using the scalar kernel. " +
+                            "Run with --add-modules jdk.incubator.vector to enable it.");
+            }
+        }
+
+        return new ScalarSubstitutionKernel();
+    }
+}
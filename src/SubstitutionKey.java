@@ -0,0 +1,281 @@
+import java.util.Arrays;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: A simple substitution key backed by lookup tables, so that encrypting and decrypting a character is
+ *          a single array access instead of a search through the key String.
+ */
+public final class SubstitutionKey {
+
+    // the alphabet map of values used for all messages
+    public static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    // the size of the alphabet
+    public static final int ALPHABET_SIZE = ALPHABET.length();
+
+    // the modified alphabet key, as it was given, or made when first asked for if the key was given as letter values
+    private String key;
+    // the encrypted letter (0-25) for each plaintext letter (0-25)
+    private final byte[] forward = new byte[ALPHABET_SIZE];
+    // the plaintext letter (0-25) for each encrypted letter (0-25)
+    private final byte[] inverse = new byte[ALPHABET_SIZE];
+
+    private SubstitutionKey(String key) {
+        this.key = key;
+
+        for (int plain = 0; plain < ALPHABET_SIZE; ++plain) {
+            int cipher = key.charAt(plain) - 'a';
+
+            forward[plain] = (byte) cipher;
+            inverse[cipher] = (byte) plain;
+        }
+    }
+
+    private SubstitutionKey(byte[] key) {
+        for (int plain = 0; plain < ALPHABET_SIZE; ++plain) {
+            byte cipher = key[plain];
+
+            forward[plain] = cipher;
+            inverse[cipher] = (byte) plain;
+        }
+    }
+
+    /**
+     * Returns the key for a modified alphabet, where the letter at each index replaces the matching letter of
+     * the alphabet (ex: the first letter of the key replaces every 'a').
+     *
+     * @param key the modified alphabet key; every lowercase letter exactly once
+     * @return the lookup-table key
+     * @throws IllegalArgumentException if the key is not a rearrangement of the alphabet
+     */
+    public static SubstitutionKey of(String key) {
+        if (key.length() != ALPHABET_SIZE)
+            throw new IllegalArgumentException("Key must have exactly " + ALPHABET_SIZE + " letters: " + key);
+
+        // a bit for each letter that has already appeared in the key
+        int seen = 0;
+
+        for (int i = 0; i < ALPHABET_SIZE; ++i) {
+            int letter = key.charAt(i) - 'a';
+
+            if (letter < 0 || letter >= ALPHABET_SIZE || (seen & (1 << letter)) != 0)
+                throw new IllegalArgumentException("Key must contain every lowercase letter once: " + key);
+
+            seen |= 1 << letter;
+        }
+
+        return new SubstitutionKey(key);
+    }
+
+    /**
+     * Returns the key for a modified alphabet given as letter values rather than characters.
+     *
+     * @param key the encrypted letter (0-25) for each plaintext letter (0-25); every letter exactly once
+     * @return the lookup-table key
+     * @throws IllegalArgumentException if the key is not a rearrangement of the alphabet
+     */
+    public static SubstitutionKey of(byte[] key) {
+        if (key.length != ALPHABET_SIZE)
+            throw new IllegalArgumentException("Key must have exactly " + ALPHABET_SIZE + " letters");
+
+        // a bit for each letter that has already appeared in the key
+        int seen = 0;
+
+        for (byte letter : key) {
+            if (letter < 0 || letter >= ALPHABET_SIZE || (seen & (1 << letter)) != 0)
+                throw new IllegalArgumentException("Key must contain every letter value once");
+
+            seen |= 1 << letter;
+        }
+
+        return new SubstitutionKey(key);
+    }
+
+    /**
+     * Fills in the decryption table of letter values which are already known to be a rearrangement of the alphabet,
+     * such as the candidate keys of a search, without checking them again. A search can then decode with each of
+     * its keys in the same table, instead of creating a key for every one.
+     *
+     * @param key the encrypted letter (0-25) for each plaintext letter (0-25); every letter exactly once
+     * @param inverse the array to write the plaintext letter (0-25) for each encrypted letter (0-25) to
+     */
+    static void invert(byte[] key, byte[] inverse) {
+        for (int plain = 0; plain < ALPHABET_SIZE; ++plain)
+            inverse[key[plain]] = (byte) plain;
+    }
+
+    /**
+     * Decrypts a run of characters with a decryption table filled in by invert, into the destination array, which
+     * may be the source array itself.
+     *
+     * @param inverse the plaintext letter (0-25) for each encrypted letter (0-25)
+     * @param src the characters to decrypt
+     * @param srcOffset the index of the first character to decrypt
+     * @param dst the array to write the decrypted characters to
+     * @param dstOffset the index to write the first decrypted character to
+     * @param length the number of characters to decrypt
+     */
+    static void decrypt(byte[] inverse, char[] src, int srcOffset, char[] dst, int dstOffset, int length) {
+        transform(inverse, src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * Encrypts a single character; anything other than a lowercase letter is returned unchanged.
+     *
+     * @param c the character to encrypt
+     * @return the encrypted character
+     */
+    public char encrypt(char c) {
+        int letter = c - 'a';
+        return letter >= 0 && letter < ALPHABET_SIZE ? (char) ('a' + forward[letter]) : c;
+    }
+
+    /**
+     * Decrypts a single character; anything other than a lowercase letter is returned unchanged.
+     *
+     * @param c the character to decrypt
+     * @return the decrypted character
+     */
+    public char decrypt(char c) {
+        int letter = c - 'a';
+        return letter >= 0 && letter < ALPHABET_SIZE ? (char) ('a' + inverse[letter]) : c;
+    }
+
+    /**
+     * Encrypts a run of characters into the destination array, which may be the source array itself.
+     *
+     * @param src the characters to encrypt
+     * @param srcOffset the index of the first character to encrypt
+     * @param dst the array to write the encrypted characters to
+     * @param dstOffset the index to write the first encrypted character to
+     * @param length the number of characters to encrypt
+     */
+    public void encrypt(char[] src, int srcOffset, char[] dst, int dstOffset, int length) {
+        transform(forward, src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * Decrypts a run of characters into the destination array, which may be the source array itself.
+     *
+     * @param src the characters to decrypt
+     * @param srcOffset the index of the first character to decrypt
+     * @param dst the array to write the decrypted characters to
+     * @param dstOffset the index to write the first decrypted character to
+     * @param length the number of characters to decrypt
+     */
+    public void decrypt(char[] src, int srcOffset, char[] dst, int dstOffset, int length) {
+        transform(inverse, src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * Encrypts a run of ASCII bytes into the destination array, which may be the source array itself.
+     *
+     * @param src the bytes to encrypt
+     * @param srcOffset the index of the first byte to encrypt
+     * @param dst the array to write the encrypted bytes to
+     * @param dstOffset the index to write the first encrypted byte to
+     * @param length the number of bytes to encrypt
+     */
+    public void encrypt(byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        transform(forward, src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * Decrypts a run of ASCII bytes into the destination array, which may be the source array itself.
+     *
+     * @param src the bytes to decrypt
+     * @param srcOffset the index of the first byte to decrypt
+     * @param dst the array to write the decrypted bytes to
+     * @param dstOffset the index to write the first decrypted byte to
+     * @param length the number of bytes to decrypt
+     */
+    public void decrypt(byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        transform(inverse, src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * Replaces every lowercase letter using the table and copies every other character unchanged.
+     *
+     * @param table the replacement letter (0-25) for each letter (0-25)
+     * @param src the characters to transform
+     * @param srcOffset the index of the first character to transform
+     * @param dst the array to write the transformed characters to
+     * @param dstOffset the index to write the first transformed character to
+     * @param length the number of characters to transform
+     */
+    private static void transform(byte[] table, char[] src, int srcOffset, char[] dst, int dstOffset, int length) {
+        for (int i = 0; i < length; ++i) {
+            char c = src[srcOffset + i];
+            int letter = c - 'a';
+
+            dst[dstOffset + i] = letter >= 0 && letter < ALPHABET_SIZE ? (char) ('a' + table[letter]) : c;
+        }
+    }
+
+    /**
+     * Replaces every lowercase ASCII letter using the table and copies every other byte unchanged, with the
+     * kernel chosen for the whole program (SIMD when it is available).
+     *
+     * @param table the replacement letter (0-25) for each letter (0-25)
+     * @param src the bytes to transform
+     * @param srcOffset the index of the first byte to transform
+     * @param dst the array to write the transformed bytes to
+     * @param dstOffset the index to write the first transformed byte to
+     * @param length the number of bytes to transform
+     */
+    private static void transform(byte[] table, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        SubstitutionKernel.getInstance().transform(table, src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * Returns the encrypted letter (0-25) for a plaintext letter (0-25).
+     *
+     * @param plain the plaintext letter
+     * @return the encrypted letter
+     */
+    public int forward(int plain) {
+        return forward[plain];
+    }
+
+    /**
+     * Returns the plaintext letter (0-25) for an encrypted letter (0-25).
+     *
+     * @param cipher the encrypted letter
+     * @return the plaintext letter
+     */
+    public int inverse(int cipher) {
+        return inverse[cipher];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SubstitutionKey && Arrays.equals(forward, ((SubstitutionKey) o).forward);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(forward);
+    }
+
+    /**
+     * Returns the modified alphabet key as a String.
+     *
+     * @return the key
+     */
+    @Override
+    public String toString() {
+        // every call makes the same String, so a race between threads only makes it twice
+        if (key == null) {
+            char[] letters = new char[ALPHABET_SIZE];
+
+            for (int plain = 0; plain < ALPHABET_SIZE; ++plain)
+                letters[plain] = (char) ('a' + forward[plain]);
+
+            key = new String(letters);
+        }
+
+        return key;
+    }
+}
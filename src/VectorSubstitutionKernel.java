@@ -0,0 +1,85 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Replaces the lowercase ASCII letters of a run of bytes a whole vector at a time with the incubating
+ *          Vector API. Each lane's letter picks its replacement out of the table with a lane shuffle; vectors
+ *          with fewer than 26 lanes look the table up one vector-sized chunk at a time. Only loaded by name from
+ *          SubstitutionKernel, since the JVM needs --add-modules jdk.incubator.vector to run it.
+ */
+public final class VectorSubstitutionKernel implements SubstitutionKernel {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the widest vectors the CPU runs well
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    // the number of bytes in each vector
+    private static final int LANES = SPECIES.length();
+    // the number of vectors needed to hold the whole table (every letter fits in 32 entries)
+    private static final int NUM_OF_CHUNKS = Math.max(1, 32 / LANES);
+
+    // finishes the bytes which do not fill a whole vector
+    private final ScalarSubstitutionKernel tail = new ScalarSubstitutionKernel();
+
+    /**
+     * Creates the kernel, unless the CPU's vectors are too narrow to be any faster than the plain loop.
+     *
+     * @throws UnsupportedOperationException if the vectors hold fewer than 16 bytes
+     */
+    public VectorSubstitutionKernel() {
+        if (LANES < 16)
+            throw new UnsupportedOperationException("Vectors of " + LANES + " bytes are too narrow.");
+    }
+
+    @Override
+    public void transform(byte[] table, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+        // the table as replacement characters rather than values 0-25, split into vector-sized chunks
+        byte[] characters = new byte[NUM_OF_CHUNKS * LANES];
+
+        for (int letter = 0; letter < ALPHABET_SIZE; ++letter)
+            characters[letter] = (byte) ('a' + table[letter]);
+
+        ByteVector[] chunks = new ByteVector[NUM_OF_CHUNKS];
+
+        for (int chunk = 0; chunk < NUM_OF_CHUNKS; ++chunk)
+            chunks[chunk] = ByteVector.fromArray(SPECIES, characters, chunk * LANES);
+
+        // the number of bytes which fill whole vectors
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+
+        for (; i < bound; i += LANES) {
+            ByteVector bytes = ByteVector.fromArray(SPECIES, src, srcOffset + i);
+            VectorMask<Byte> isLetter =
+                    bytes.compare(VectorOperators.GE, (byte) 'a').and(bytes.compare(VectorOperators.LE, (byte) 'z'));
+            // each byte's letter (0-25); the lanes of any other byte are thrown away at the end
+            ByteVector letters = bytes.sub((byte) 'a');
+            // the index of each letter within its chunk of the table
+            ByteVector indexes = letters.and((byte) (LANES - 1));
+            ByteVector replaced = indexes.selectFrom(chunks[0]);
+
+            // take each letter beyond the first chunk from the chunk it falls in
+            for (int chunk = 1; chunk < NUM_OF_CHUNKS; ++chunk) {
+                VectorMask<Byte> inChunk =
+                        letters.and((byte) -LANES).compare(VectorOperators.EQ, (byte) (chunk * LANES));
+                replaced = replaced.blend(indexes.selectFrom(chunks[chunk]), inChunk);
+            }
+
+            // keep every byte which is not a lowercase letter as it was
+            bytes.blend(replaced, isLetter).intoArray(dst, dstOffset + i);
+        }
+
+        tail.transform(table, src, srcOffset + i, dst, dstOffset + i, length - i);
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.vectorBitSize() + "-bit)";
+    }
+}
@@ -0,0 +1,297 @@
+import java.io.IOException;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Cracks Vigenere ciphers. The length of the keyword is found with the index of coincidence: when the
+ *          message is split into as many columns as the keyword has letters, each column is a Caesar cipher and
+ *          its letters repeat as often as they do in English. Each column's shift is then the one whose letter
+ *          frequencies are closest to English by chi-squared.
+ */
+public class VigenereSolver {
+
+    // the longest keyword looked for by default
+    public static final int DEFAULT_MAX_PERIOD = 100;
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the fewest letters each column must hold for its index of coincidence to mean anything
+    private static final int MIN_COLUMN_LENGTH = 8;
+    /*
+        The share of the best index of coincidence that a keyword length must reach to be chosen; multiples of the
+        keyword length score as well as the keyword length itself, so the shortest length that comes close wins
+     */
+    private static final double PERIOD_TOLERANCE = 0.9;
+    /*
+        How far from random text (1/26) towards the language a keyword length's index of coincidence must be to be
+        chosen even if a longer length scores higher by chance; a length which mixes two shifts in each column
+        only gets about halfway
+     */
+    private static final double LANGUAGE_TOLERANCE = 0.75;
+
+    // the language the messages were written in, and its letter frequencies
+    private final LanguageProfile language;
+    private final FrequencyAnalyzer.Profile profile;
+    // the longest keyword looked for
+    private final int maxPeriod;
+    // the index of coincidence of the language: the chance that two of its letters picked at random are the same
+    private final double languageIndex;
+
+    /**
+     * Creates a solver for English messages, looking for keywords of up to 100 letters.
+     */
+    public VigenereSolver() throws IOException {
+        this(LanguageProfile.getDefault(), DEFAULT_MAX_PERIOD);
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param language the language the messages were written in
+     * @param maxPeriod the longest keyword looked for
+     */
+    public VigenereSolver(LanguageProfile language, int maxPeriod) throws IOException {
+        if (maxPeriod < 1)
+            throw new IllegalArgumentException("The longest keyword must hold at least one letter.");
+
+        this.language = language;
+        this.profile = language.getLetterProfile();
+        this.maxPeriod = maxPeriod;
+
+        double index = 0;
+
+        for (int letter = 0; letter < ALPHABET_SIZE; ++letter)
+            index += profile.frequency(letter) * profile.frequency(letter);
+
+        this.languageIndex = index;
+    }
+
+    /**
+     * Deciphers an encrypted message and returns the result in the same form as Part1.decipher, with the keyword
+     * in place of the modified alphabet key.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @return the decoded message and its keyword, or an empty array if the message has no letters
+     */
+    public String[] decipher(String encodedMessage) throws IOException {
+
+        // lazy way to measure the whole crack
+        long startTime = System.nanoTime();
+        // keep only the letters of the message, as values 0-25
+        char[] trimmedMessage = Part1.lettersOf(encodedMessage);
+
+        if (trimmedMessage.length == 0)
+            return new String[0];
+
+        byte[] cipherLetters = new byte[trimmedMessage.length];
+
+        for (int i = 0; i < cipherLetters.length; ++i)
+            cipherLetters[i] = (byte) (trimmedMessage[i] - 'a');
+
+        String keyword = findKeyword(cipherLetters);
+        String[] result = {Part2b.decryptVigenere(encodedMessage, keyword, language), keyword};
+
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics.getInstance().recordCrack(latency);
+
+        return result;
+    }
+
+    /**
+     * Finds the most likely keyword of a message.
+     *
+     * @param cipherLetters the letters of the message, as values 0-25
+     * @return the keyword
+     */
+    String findKeyword(byte[] cipherLetters) {
+        int period = findPeriod(cipherLetters);
+        int[] counts = countColumns(cipherLetters, period);
+        char[] keyword = new char[period];
+
+        for (int column = 0; column < period; ++column)
+            keyword[column] = (char) ('a' + findShift(counts, column));
+
+        return shortestRepeat(new String(keyword));
+    }
+
+    /**
+     * Finds the most likely length of the keyword. Every length is tested at the same time, in a single pass over
+     * the letters.
+     *
+     * @param cipherLetters the letters of the message, as values 0-25
+     * @return the length of the keyword
+     */
+    int findPeriod(byte[] cipherLetters) {
+        // only try lengths which leave enough letters in each column
+        int longest = Math.max(1, Math.min(maxPeriod, cipherLetters.length / MIN_COLUMN_LENGTH));
+        double[] indexes = indexesOfCoincidence(cipherLetters, longest);
+
+        double best = 0;
+
+        for (int period = 1; period <= longest; ++period)
+            best = Math.max(best, indexes[period]);
+
+        double randomIndex = 1.0 / ALPHABET_SIZE;
+        double threshold = Math.min(best * PERIOD_TOLERANCE,
+                randomIndex + LANGUAGE_TOLERANCE * (languageIndex - randomIndex));
+
+        // the shortest length which comes close to the best or to the language, since its multiples score as well
+        for (int period = 1; period < longest; ++period)
+            if (indexes[period] >= threshold)
+                return period;
+
+        return longest;
+    }
+
+    /**
+     * Returns the index of coincidence of the message split into every number of columns up to the longest. The letters of every split are counted in the same pass over the message, into one
+     * array.
+     *
+     * @param cipherLetters the letters of the message, as values 0-25
+     * @param longest the most columns to split the message into
+     * @return the index of coincidence of each number of columns, indexed by the number of columns (0 is unused)
+     */
+    static double[] indexesOfCoincidence(byte[] cipherLetters, int longest) {
+        // the counts of every split, one after another; the split into p columns starts at column firstColumn[p]
+        int[] firstColumn = new int[longest + 2];
+
+        for (int period = 1; period <= longest; ++period)
+            firstColumn[period + 1] = firstColumn[period] + period;
+
+        int[] counts = new int[firstColumn[longest + 1] * ALPHABET_SIZE];
+        // the column of each split that the next letter falls in
+        int[] columns = new int[longest + 1];
+
+        for (byte letter : cipherLetters) {
+            for (int period = 1; period <= longest; ++period) {
+                ++counts[(firstColumn[period] + columns[period]) * ALPHABET_SIZE + letter];
+
+                if (++columns[period] == period)
+                    columns[period] = 0;
+            }
+        }
+
+        double[] indexes = new double[longest + 1];
+
+        for (int period = 1; period <= longest; ++period)
+            indexes[period] = indexOfCoincidence(counts, firstColumn[period] * ALPHABET_SIZE, cipherLetters.length,
+                    period);
+
+        return indexes;
+    }
+
+    /**
+     * Returns the index of coincidence of the message split into columns: the chance that two letters picked
+     * from the same column are the same letter. It is close to the language's own index when each column was
+     * shifted by a single keyword letter, and close to 1/26 when the columns mix shifts.
+     *
+     * @param counts the count of each letter of each column, 26 entries per column
+     * @param offset the index of the first column's counts
+     * @param numOfLetters the number of letters in the message
+     * @param period the number of columns
+     * @return the index of coincidence, pooled over every column
+     */
+    private static double indexOfCoincidence(int[] counts, int offset, int numOfLetters, int period) {
+        // the number of pairs of equal letters, and of all pairs of letters, within the same column
+        long matchingPairs = 0;
+        long pairs = 0;
+
+        for (int column = 0; column < period; ++column) {
+            long columnLength = (numOfLetters - column + period - 1) / period;
+            pairs += columnLength * (columnLength - 1);
+
+            for (int letter = 0; letter < ALPHABET_SIZE; ++letter) {
+                long count = counts[offset + column * ALPHABET_SIZE + letter];
+                matchingPairs += count * (count - 1);
+            }
+        }
+
+        return pairs == 0 ? 0 : (double) matchingPairs / pairs;
+    }
+
+    /**
+     * Counts the letters of each column in a single pass.
+     *
+     * @param cipherLetters the letters of the message, as values 0-25
+     * @param period the number of columns
+     * @return the count of each letter of each column, 26 entries per column
+     */
+    static int[] countColumns(byte[] cipherLetters, int period) {
+        int[] counts = new int[period * ALPHABET_SIZE];
+
+        // the offset of the current column within the counts
+        for (int i = 0, offset = 0; i < cipherLetters.length; ++i) {
+            ++counts[offset + cipherLetters[i]];
+            offset += ALPHABET_SIZE;
+
+            if (offset == counts.length)
+                offset = 0;
+        }
+
+        return counts;
+    }
+
+    /**
+     * Finds the shift of a column: the one which leaves the column's letters closest to the language by
+     * chi-squared.
+     *
+     * @param counts the count of each letter of each column
+     * @param column the column to find the shift of
+     * @return the shift, 0-25
+     */
+    private int findShift(int[] counts, int column) {
+        int offset = column * ALPHABET_SIZE;
+        long columnLength = 0;
+
+        for (int letter = 0; letter < ALPHABET_SIZE; ++letter)
+            columnLength += counts[offset + letter];
+
+        int bestShift = 0;
+        double bestStatistic = Double.POSITIVE_INFINITY;
+
+        for (int shift = 0; shift < ALPHABET_SIZE; ++shift) {
+            double statistic = 0;
+
+            // each plaintext letter was encrypted into the letter shift places after it
+            for (int plain = 0; plain < ALPHABET_SIZE; ++plain) {
+                double expected = profile.frequency(plain) * columnLength;
+                double difference = counts[offset + (plain + shift) % ALPHABET_SIZE] - expected;
+
+                statistic += difference * difference / expected;
+            }
+
+            if (statistic < bestStatistic) {
+                bestStatistic = statistic;
+                bestShift = shift;
+            }
+        }
+
+        return bestShift;
+    }
+
+    /**
+     * Returns the shortest keyword which repeats into the given one (ex: "keykey" -> "key"), since a multiple of
+     * the keyword length may have been chosen.
+     *
+     * @param keyword the keyword
+     * @return the shortest keyword giving the same shifts
+     */
+    private static String shortestRepeat(String keyword) {
+        // store the length to prevent excessive method calls within the loop
+        int keywordLength = keyword.length();
+
+        for (int length = 1; length < keywordLength; ++length) {
+            if (keywordLength % length != 0)
+                continue;
+
+            String repeated = keyword.substring(0, length).repeat(keywordLength / length);
+
+            if (repeated.equals(keyword))
+                return keyword.substring(0, length);
+        }
+
+        return keyword;
+    }
+}
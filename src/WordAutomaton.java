@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: An Aho-Corasick automaton of the dictionary words, used to measure how much of a message is covered by
+ *          dictionary words in a single pass. Unlike splitting a message into words, which fails on the first
+ *          name, typo or number, coverage degrades gracefully: a message with one unknown word still scores
+ *          almost as well as a message without one.
+ *
+ * The automaton reuses the nodes of the dictionary trie, adding to each one the node to fall back to when no word
+ * continues with the next letter (its failure link), and the length of the longest word ending there.
+ */
+public class WordAutomaton {
+
+    // the shortest words counted by default; almost any few letters hold a one- or two-letter word by chance
+    public static final int DEFAULT_MIN_WORD_LENGTH = 3;
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+
+    // the dictionary trie the automaton walks
+    private final WordTrie trie;
+    // the node of the longest proper suffix of each node's letters which is also in the trie
+    private final int[] failure;
+    // the length of the longest dictionary word which ends each node's letters, or 0 if none does
+    private final int[] longestWord;
+
+    private WordAutomaton(WordTrie trie, int[] failure, int[] longestWord) {
+        this.trie = trie;
+        this.failure = failure;
+        this.longestWord = longestWord;
+    }
+
+    /**
+     * Builds the automaton of a trie, visiting its nodes breadth first so that each node's failure link is
+     * known before its children's.
+     *
+     * @param trie the dictionary trie
+     * @return the new automaton
+     */
+    public static WordAutomaton build(WordTrie trie) {
+        int numOfNodes = trie.size();
+        int[] failure = new int[numOfNodes];
+        int[] longestWord = new int[numOfNodes];
+        // the number of letters leading to each node, and the nodes in breadth-first order
+        int[] depth = new int[numOfNodes];
+        int[] queue = new int[numOfNodes];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = WordTrie.ROOT;
+
+        while (head < tail) {
+            int node = queue[head++];
+
+            for (int letter = 0; letter < ALPHABET_SIZE; ++letter) {
+                char c = (char) ('a' + letter);
+                int child = trie.next(node, c);
+
+                if (child == -1)
+                    continue;
+
+                depth[child] = depth[node] + 1;
+
+                // the child falls back to the longest suffix of the parent which also continues with this letter
+                if (node == WordTrie.ROOT)
+                    failure[child] = WordTrie.ROOT;
+                else
+                    failure[child] = step(trie, failure, failure[node], c);
+
+                // the child's own word is the longest one ending here; otherwise, the longest ending its suffix
+                longestWord[child] = trie.isWord(child) ? depth[child] : longestWord[failure[child]];
+                queue[tail++] = child;
+            }
+        }
+
+        return new WordAutomaton(trie, failure, longestWord);
+    }
+
+    /**
+     * Follows a letter from a node, falling back along the failure links until some word continues with it.
+     *
+     * @param trie the dictionary trie
+     * @param failure the failure link of each node
+     * @param node the node to start from
+     * @param c the letter to follow
+     * @return the next node, or the root if no word continues with the letter
+     */
+    private static int step(WordTrie trie, int[] failure, int node, char c) {
+        while (true) {
+            int next = trie.next(node, c);
+
+            if (next != -1)
+                return next;
+            if (node == WordTrie.ROOT)
+                return WordTrie.ROOT;
+
+            node = failure[node];
+        }
+    }
+
+    /**
+     * Walks a message through the automaton once, counting the letters which are part of at least one dictionary
+     * word of at least the given length.
+     *
+     * @param letters the message's letters
+     * @param minWordLength the shortest words which count
+     * @param wordLengths the buffer to write the length of the longest such word ending at each letter to (0 for
+     *                    none), at least as long as the message; or null if only the count is needed
+     * @return the number of covered letters
+     */
+    private int walk(char[] letters, int minWordLength, int[] wordLengths) {
+        int node = WordTrie.ROOT;
+        // the number of covered letters, and the index after the last covered letter
+        int covered = 0;
+        int coveredUntil = 0;
+
+        for (int i = 0; i < letters.length; ++i) {
+            node = step(trie, failure, node, letters[i]);
+            int wordLength = longestWord[node];
+
+            // every other word ending here lies within the longest one, so only it can cover more letters
+            if (wordLength >= minWordLength) {
+                covered += i + 1 - Math.max(i + 1 - wordLength, coveredUntil);
+                coveredUntil = i + 1;
+            } else
+                wordLength = 0;
+
+            if (wordLengths != null)
+                wordLengths[i] = wordLength;
+        }
+
+        return covered;
+    }
+
+    /**
+     * Returns the fraction of a message's letters which are part of at least one dictionary word of at least the
+     * given length. Short words are left out since almost any few letters contain one by chance.
+     *
+     * @param letters the message's letters
+     * @param minWordLength the shortest words which count
+     * @return the covered fraction, from 0 to 1
+     */
+    public double coverage(char[] letters, int minWordLength) {
+        if (letters.length == 0)
+            return 0;
+
+        return (double) walk(letters, minWordLength, null) / letters.length;
+    }
+
+    /**
+     * Scores how much a message looks like dictionary words: the average, over its letters, of the length of the
+     * longest dictionary word covering each one (0 for letters no word of at least the given length covers).
+     * Like coverage, unknown words only cost their own letters, but long words count for more than the short
+     * ones which turn up by chance in any decoding, so the correct key stands out among many wrong ones.
+     *
+     * The message is walked through the automaton once, counting the covered letters on the way; only a message
+     * covered well enough is then swept backwards to find the longest word covering each letter. The buffer for
+     * the length of the word ending at each letter is passed in, so that a caller scoring many messages of the
+     * same length does not allocate it for each one.
+     *
+     * @param letters the message's letters
+     * @param minWordLength the shortest words which count
+     * @param minCoverage the least covered fraction (see coverage) worth scoring
+     * @param wordLengths the buffer to use, at least as long as the message; its contents are overwritten
+     * @return the score, from 0 to the length of the longest dictionary word, or 0 if too little is covered
+     */
+    public double score(char[] letters, int minWordLength, double minCoverage, int[] wordLengths) {
+        if (letters.length == 0)
+            return 0;
+
+        int covered = walk(letters, minWordLength, wordLengths);
+
+        if ((double) covered / letters.length < minCoverage)
+            return 0;
+
+        /*
+            The words covering the current letter, as the indexes of their last letters, longest first. A word is
+            dropped once a longer one is found which starts no later, since it can never be the longest again; so
+            the words in it also start in order, latest first, and are dropped from the front as the sweep passes
+            their first letters
+         */
+        int[] wordEnds = new int[letters.length];
+        int head = 0;
+        int tail = 0;
+        long total = 0;
+
+        for (int i = letters.length - 1; i >= 0; --i) {
+            int wordLength = wordLengths[i];
+
+            if (wordLength > 0) {
+                // every word in the deque ends later, so the ones no longer than this word start no earlier
+                while (tail > head && wordLengths[wordEnds[tail - 1]] <= wordLength)
+                    --tail;
+
+                // a longer word starting no later than this one already covers everything it does
+                if (tail == head || wordEnds[tail - 1] - wordLengths[wordEnds[tail - 1]] > i - wordLength)
+                    wordEnds[tail++] = i;
+            }
+
+            while (tail > head && wordEnds[head] - wordLengths[wordEnds[head]] >= i)
+                ++head;
+
+            if (tail > head)
+                total += wordLengths[wordEnds[head]];
+        }
+
+        return (double) total / letters.length;
+    }
+
+    /**
+     * Splits a message into dictionary words of at least the given length, keeping each run of letters which no
+     * such word covers as one unknown word. The words are taken from the end of the message, longest first.
+     *
+     * @param letters the message's letters
+     * @param minWordLength the shortest words which count
+     * @return the words and unknown runs, in order
+     */
+    public ArrayList<String> split(char[] letters, int minWordLength) {
+        // the length of the longest word ending at each letter, found in one pass
+        int[] wordEndingAt = new int[letters.length];
+        int node = WordTrie.ROOT;
+
+        for (int i = 0; i < letters.length; ++i) {
+            node = step(trie, failure, node, letters[i]);
+            wordEndingAt[i] = longestWord[node];
+        }
+
+        ArrayList<String> words = new ArrayList<>();
+        // the index after the letters which have not been split off yet
+        int end = letters.length;
+        // the index after the current run of unknown letters
+        int unknownEnd = end;
+
+        while (end > 0) {
+            int wordLength = wordEndingAt[end - 1];
+
+            if (wordLength >= minWordLength) {
+                // close the run of unknown letters after this word
+                if (unknownEnd > end)
+                    words.add(new String(letters, end, unknownEnd - end));
+
+                words.add(new String(letters, end - wordLength, wordLength));
+                end -= wordLength;
+                unknownEnd = end;
+            } else
+                --end;
+        }
+
+        if (unknownEnd > 0)
+            words.add(new String(letters, 0, unknownEnd));
+
+        Collections.reverse(words);
+        return words;
+    }
+
+    /**
+     * Returns the approximate heap footprint of the automaton's arrays, not counting the trie.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        // each array has a 16-byte header
+        return 32 + 4L * failure.length + 4L * longestWord.length;
+    }
+}
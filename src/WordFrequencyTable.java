@@ -0,0 +1,139 @@
+import java.io.IOException;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Scores how much a message without spaces reads like English words, by the most likely way to split
+ *          it into dictionary words, given how often each word appears in running text.
+ *
+ * Quadgrams only see four letters at a time, so a short message can score better with a few wrong letters than
+ * with the right ones: "the count a in road" for "the mountain road", or "peeks" for "keeps". Whole words tell
+ * those apart, since the right words are far more common than the wrong ones, and since letters which are not
+ * part of any word cost a lot.
+ */
+public class WordFrequencyTable {
+
+    // the word counts the default table is built from; see the header of the file for where they come from
+    public static final String DEFAULT_FILE = "english_words.txt";
+
+    // the number of times a dictionary word which never appears in the counted text is taken to appear
+    private static final double UNSEEN_COUNT = 0.5;
+    // the log10 probability of a letter which is not part of any dictionary word
+    private static final double UNKNOWN_LETTER = -5;
+
+    // the dictionary words
+    private final WordTrie trie;
+    // the log10 probability of the word ending at each node of the trie; only set for the nodes which end words
+    private final float[] logProbabilities;
+
+    private WordFrequencyTable(WordTrie trie, float[] logProbabilities) {
+        this.trie = trie;
+        this.logProbabilities = logProbabilities;
+    }
+
+    /**
+     * Builds a table from a file of word counts. Each line holds a word and the number of times it appears in
+     * running text of the language, separated by a space; lines starting with '#' are comments. Words which are
+     * not in the dictionary are skipped, and dictionary words missing from the file are taken to be rare.
+     *
+     * @param fileName the name of the counts file
+     * @param trie the dictionary words
+     * @return the new table
+     * @throws IOException if the file cannot be read or a line is not a word and its count
+     */
+    public static WordFrequencyTable fromFile(String fileName, WordTrie trie) throws IOException {
+        // the number of times the word ending at each node was counted
+        long[] counts = new long[trie.size()];
+        // the total number of dictionary words counted
+        long total = 0;
+
+        for (String line : Functions.readLines(fileName)) {
+            if (line.startsWith("#"))
+                continue;
+
+            String[] splitLine = line.split(" ");
+
+            if (splitLine.length != 2)
+                throw new IOException("Not a word count in " + fileName + ": " + line);
+
+            int node = WordTrie.ROOT;
+
+            for (int i = 0; i < splitLine[0].length() && node != -1; ++i)
+                node = trie.next(node, splitLine[0].charAt(i));
+
+            // the word is not in the dictionary, so no split of a message can use it
+            if (node == -1 || !trie.isWord(node))
+                continue;
+
+            try {
+                int count = Integer.parseInt(splitLine[1]);
+                counts[node] += count;
+                total += count;
+            } catch (NumberFormatException e) {
+                throw new IOException("Not a word count in " + fileName + ": " + line, e);
+            }
+        }
+
+        // the number of dictionary words, which all share the counts given to unseen words
+        int numOfWords = 0;
+
+        for (int node = 0; node < counts.length; ++node) {
+            if (trie.isWord(node))
+                ++numOfWords;
+        }
+
+        float[] logProbabilities = new float[counts.length];
+
+        for (int node = 0; node < counts.length; ++node) {
+            if (trie.isWord(node))
+                logProbabilities[node] = (float) Math.log10((counts[node] + UNSEEN_COUNT) /
+                        (total + UNSEEN_COUNT * numOfWords));
+        }
+
+        return new WordFrequencyTable(trie, logProbabilities);
+    }
+
+    /**
+     * Returns the log10 probability of the most likely split of a message into words, where the letters which
+     * are not part of any dictionary word are each scored as an unknown letter; higher (closer to zero) reads
+     * more like English.
+     *
+     * @param letters the message's letters
+     * @param best the buffer to use, at least one longer than the message; its contents are overwritten
+     * @return the score of the message
+     */
+    public double score(char[] letters, double[] best) {
+        // store the length to prevent excessive method calls within the loops
+        int length = letters.length;
+
+        // best[i] is the score of the most likely split of the first i letters
+        best[0] = 0;
+
+        for (int i = 1; i <= length; ++i)
+            best[i] = Double.NEGATIVE_INFINITY;
+
+        for (int start = 0; start < length; ++start) {
+            double score = best[start];
+
+            // the letter at this position may be an unknown letter
+            best[start + 1] = Math.max(best[start + 1], score + UNKNOWN_LETTER);
+
+            int node = WordTrie.ROOT;
+
+            // walk the trie from this position; every word found is a possible next word of the split
+            for (int end = start + 1; end <= length; ++end) {
+                node = trie.next(node, letters[end - 1]);
+
+                if (node == -1)
+                    break;
+
+                if (trie.isWord(node))
+                    best[end] = Math.max(best[end], score + logProbabilities[node]);
+            }
+        }
+
+        return best[length];
+    }
+}
@@ -0,0 +1,395 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Cracks substitution ciphers which keep the spaces between words, by matching each encrypted word
+ *          against the dictionary words with the same letter pattern.
+ */
+public class WordPatternSolver {
+
+    // the alphabet map of values used for all messages
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    // the size of the alphabet
+    private static final int ALPHABET_SIZE = ALPHABET.length();
+    // a set of letters with every letter of the alphabet in it; bit n is set if letter n is possible
+    private static final int ALL_LETTERS = (1 << ALPHABET_SIZE) - 1;
+    // the most complete solutions collected before choosing the best one
+    private static final int MAX_SOLUTIONS = 64;
+    // the most steps of the search before giving up on finding more solutions
+    private static final int MAX_STEPS = 200_000;
+    // the length of the letter groups encrypted messages are written in (see Part2a.encrypt)
+    private static final int CIPHER_GROUP_LENGTH = 5;
+
+    // the dictionary words grouped by letter pattern
+    private final Map<String, List<String>> patternIndex;
+    // the rank of the most common English words (0 is the most common), used to order and score the words
+    private final Map<String, Integer> commonWordRanks = new HashMap<>();
+    // the frequencies of English letters, used to choose between solutions with equally common words
+    private final FrequencyAnalyzer.Profile letterProfile;
+
+    /**
+     * Creates a solver using the shared dictionary and the most common English words.
+     */
+    public WordPatternSolver() throws IOException {
+        this(LanguageProfile.getDefault());
+    }
+
+    /**
+     * Creates a solver using the dictionary and the most common words of a language.
+     *
+     * @param language the language the messages were written in
+     */
+    public WordPatternSolver(LanguageProfile language) throws IOException {
+        this(language.getDictionary().getPatternIndex(), language.getCommonWords(), language.getLetterProfile());
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param patternIndex the dictionary words grouped by letter pattern (see Functions.groupWordsByPattern)
+     * @param commonWords the most common English words, most frequent first
+     * @param letterProfile the frequencies of English letters
+     */
+    public WordPatternSolver(Map<String, List<String>> patternIndex, List<String> commonWords,
+                             FrequencyAnalyzer.Profile letterProfile) {
+        this.patternIndex = patternIndex;
+        this.letterProfile = letterProfile;
+
+        for (int i = 0; i < commonWords.size(); ++i)
+            commonWordRanks.putIfAbsent(commonWords.get(i), i);
+    }
+
+    /**
+     * Checks if the message is split into more than one word, which this solver needs to be of any use.
+     *
+     * A message written in the fixed-length groups of Part2a.encrypt (every group but the last the same length)
+     * has spaces, but not between its words, so it counts as having none. A message made only of five-letter words
+     * cannot be told apart from such groups, so it counts as having none as well; callers which know the spaces
+     * fall between words can skip this check (see Part1.decipherByWordPattern).
+     *
+     * @param encodedMessage the encrypted message
+     * @return true if the message has spaces between its words
+     */
+    public static boolean hasWordBoundaries(String encodedMessage) {
+        List<String> words = splitWords(encodedMessage);
+
+        if (words.size() <= 1)
+            return false;
+
+        // the last group holds whatever letters are left over, so it may be shorter
+        for (int i = 0; i < words.size() - 1; ++i) {
+            if (words.get(i).length() != CIPHER_GROUP_LENGTH)
+                return true;
+        }
+
+        return words.get(words.size() - 1).length() > CIPHER_GROUP_LENGTH;
+    }
+
+    /**
+     * Returns the words of a message in lowercase; anything other than a letter separates two words.
+     *
+     * @param message the message to split
+     * @return the words of the message, in order
+     */
+    private static List<String> splitWords(String message) {
+        List<String> words = new ArrayList<>();
+
+        for (String word : message.toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+            if (!word.isEmpty())
+                words.add(word);
+        }
+
+        return words;
+    }
+
+    /**
+     * Deciphers an encrypted message and returns the result in the same form as Part1.decipher.
+     *
+     * @param encodedMessage the encrypted message that we are attempting to decode
+     * @return the decoded message and its key, or an empty array if no key turns the words into dictionary words
+     */
+    public String[] decipher(String encodedMessage) {
+
+        // lazy way to measure the whole crack
+        long startTime = System.nanoTime();
+        List<String> messageWords = splitWords(encodedMessage);
+        // the number of times each distinct encrypted word appears, in order of first appearance
+        Map<String, Integer> occurrences = new LinkedHashMap<>();
+
+        for (String word : messageWords)
+            occurrences.merge(word, 1, Integer::sum);
+
+        List<String> cipherWords = new ArrayList<>();
+        List<String[]> candidates = new ArrayList<>();
+
+        for (String word : occurrences.keySet()) {
+            List<String> group = patternIndex.get(Functions.getWordPattern(word));
+
+            // words without any dictionary word of the same pattern (ex: names) cannot narrow the key
+            if (group == null)
+                continue;
+
+            // try the most common words first, so that the first solutions found are the most likely ones
+            String[] ordered = group.toArray(new String[0]);
+            Arrays.sort(ordered, (a, b) -> Integer.compare(commonWordRanks.getOrDefault(a, Integer.MAX_VALUE),
+                    commonWordRanks.getOrDefault(b, Integer.MAX_VALUE)));
+
+            cipherWords.add(word);
+            candidates.add(ordered);
+        }
+
+        if (cipherWords.isEmpty())
+            return new String[0];
+
+        Search search = new Search(cipherWords, occurrences);
+        int[] possible = new int[ALPHABET_SIZE];
+        Arrays.fill(possible, ALL_LETTERS);
+
+        search.solve(possible, candidates.toArray(new String[0][]));
+
+        long latency = System.nanoTime() - startTime;
+        CrackMetrics metrics = CrackMetrics.getInstance();
+
+        // every complete solution is a key that was scored
+        metrics.recordKeysEvaluated(search.numOfSolutions);
+        metrics.recordCrack(latency);
+
+        if (search.bestKey == null)
+            return new String[0];
+
+        // decode every word of the message, including the ones that could not be matched
+        SubstitutionKey key = SubstitutionKey.of(search.bestKey);
+        StringBuilder decodedMessage = new StringBuilder();
+
+        for (String word : messageWords) {
+            if (decodedMessage.length() > 0)
+                decodedMessage.append(' ');
+
+            for (int i = 0; i < word.length(); ++i)
+                decodedMessage.append(key.decrypt(word.charAt(i)));
+        }
+
+        return new String[] {decodedMessage.toString(), search.bestKey};
+    }
+
+    /**
+     * The state of a single search: a backtracking search over the dictionary words each encrypted word could
+     * be, where the possible plaintext letters of each cipher letter are kept as a set of bits and narrowed
+     * after every choice.
+     */
+    private class Search {
+        // the distinct encrypted words which have dictionary words of the same pattern
+        private final String[] cipherWords;
+        // the number of times each of those words appears in the message
+        private final int[] wordCounts;
+        // the number of steps taken, and the number of complete solutions found
+        private int steps = 0;
+        private int numOfSolutions = 0;
+        // the best key found so far, its score, and how far its letters are from English
+        private String bestKey = null;
+        private long bestScore = Long.MIN_VALUE;
+        private double bestChiSquared = Double.POSITIVE_INFINITY;
+
+        private Search(List<String> cipherWords, Map<String, Integer> occurrences) {
+            this.cipherWords = cipherWords.toArray(new String[0]);
+            this.wordCounts = new int[this.cipherWords.length];
+
+            for (int i = 0; i < wordCounts.length; ++i)
+                wordCounts[i] = occurrences.get(this.cipherWords[i]);
+        }
+
+        /**
+         * Narrows the possible letters, then tries each remaining candidate of the most constrained word.
+         *
+         * @param possible the possible plaintext letters of each cipher letter; modified in place
+         * @param candidates the dictionary words each encrypted word could still be; modified in place
+         */
+        private void solve(int[] possible, String[][] candidates) {
+            if (++steps > MAX_STEPS || numOfSolutions >= MAX_SOLUTIONS || !propagate(possible, candidates))
+                return;
+
+            // find the word with the fewest candidates left that has not been decided yet
+            int chosenWord = -1;
+
+            for (int w = 0; w < candidates.length; ++w) {
+                if (candidates[w].length > 1 && (chosenWord == -1 ||
+                        candidates[w].length < candidates[chosenWord].length))
+                    chosenWord = w;
+            }
+
+            // every word has exactly one candidate left, so this is a complete solution
+            if (chosenWord == -1) {
+                ++numOfSolutions;
+                offer(possible, candidates);
+                return;
+            }
+
+            for (String candidate : candidates[chosenWord]) {
+                if (steps > MAX_STEPS || numOfSolutions >= MAX_SOLUTIONS)
+                    return;
+
+                // try this candidate with copies of the state, so that the next candidate starts over
+                int[] nextPossible = possible.clone();
+                String[][] nextCandidates = candidates.clone();
+                String cipherWord = cipherWords[chosenWord];
+
+                for (int i = 0; i < cipherWord.length(); ++i)
+                    nextPossible[cipherWord.charAt(i) - 'a'] &= 1 << (candidate.charAt(i) - 'a');
+
+                nextCandidates[chosenWord] = new String[] {candidate};
+                solve(nextPossible, nextCandidates);
+            }
+        }
+
+        /**
+         * Removes every letter and candidate which can no longer be part of a solution, until nothing changes.
+         *
+         * @param possible the possible plaintext letters of each cipher letter; modified in place
+         * @param candidates the dictionary words each encrypted word could still be; modified in place
+         * @return false if some cipher letter or word has no possibility left
+         */
+        private boolean propagate(int[] possible, String[][] candidates) {
+            boolean changed = true;
+
+            while (changed) {
+                changed = false;
+
+                // a plaintext letter decided for one cipher letter cannot be used by any other cipher letter
+                for (int c = 0; c < ALPHABET_SIZE; ++c) {
+                    if (possible[c] == 0)
+                        return false;
+
+                    if (Integer.bitCount(possible[c]) != 1)
+                        continue;
+
+                    for (int d = 0; d < ALPHABET_SIZE; ++d) {
+                        if (d != c && (possible[d] & possible[c]) != 0) {
+                            possible[d] &= ~possible[c];
+                            changed = true;
+                        }
+                    }
+                }
+
+                for (int w = 0; w < candidates.length; ++w) {
+                    String cipherWord = cipherWords[w];
+                    int wordLength = cipherWord.length();
+                    // the plaintext letters each cipher letter takes in the candidates that are still possible
+                    int[] seen = new int[ALPHABET_SIZE];
+                    String[] remaining = new String[candidates[w].length];
+                    int numOfRemaining = 0;
+
+                    for (String candidate : candidates[w]) {
+                        boolean fits = true;
+
+                        for (int i = 0; i < wordLength && fits; ++i)
+                            fits = (possible[cipherWord.charAt(i) - 'a'] & (1 << (candidate.charAt(i) - 'a'))) != 0;
+
+                        if (!fits)
+                            continue;
+
+                        remaining[numOfRemaining++] = candidate;
+
+                        for (int i = 0; i < wordLength; ++i)
+                            seen[cipherWord.charAt(i) - 'a'] |= 1 << (candidate.charAt(i) - 'a');
+                    }
+
+                    if (numOfRemaining == 0)
+                        return false;
+
+                    if (numOfRemaining < candidates[w].length)
+                        candidates[w] = Arrays.copyOf(remaining, numOfRemaining);
+
+                    // the letters of this word can only be what at least one remaining candidate gives them
+                    for (int i = 0; i < wordLength; ++i) {
+                        int c = cipherWord.charAt(i) - 'a';
+
+                        if ((possible[c] & ~seen[c]) != 0) {
+                            possible[c] &= seen[c];
+                            changed = true;
+                        }
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Scores a complete solution and keeps it if it is the best so far. Messages made of more common words
+         * score higher; equal scores keep the message whose letters are closest to English, then the
+         * alphabetically smaller key, so the result does not depend on the order the solutions were found in.
+         *
+         * @param possible the plaintext letter of each cipher letter in the message
+         * @param candidates the single dictionary word chosen for each encrypted word
+         */
+        private void offer(int[] possible, String[][] candidates) {
+            long score = 0;
+            FrequencyAnalyzer analyzer = new FrequencyAnalyzer();
+
+            for (int w = 0; w < candidates.length; ++w) {
+                Integer rank = commonWordRanks.get(candidates[w][0]);
+
+                // every appearance of a common word counts, and the more common the word, the more it counts
+                if (rank != null)
+                    score += (long) wordCounts[w] * (commonWordRanks.size() - rank);
+
+                for (int i = 0; i < wordCounts[w]; ++i)
+                    analyzer.update(candidates[w][0]);
+            }
+
+            double chiSquared = analyzer.chiSquared(letterProfile);
+            String key = toKey(possible);
+
+            if (score > bestScore || (score == bestScore && (chiSquared < bestChiSquared ||
+                    (chiSquared == bestChiSquared && key.compareTo(bestKey) < 0)))) {
+                bestScore = score;
+                bestChiSquared = chiSquared;
+                bestKey = key;
+            }
+        }
+    }
+
+    /**
+     * Converts the decided letters into a complete modified alphabet key. Cipher letters that are not decided
+     * (because they are not in any matched word) are given the unused letters in alphabetical order.
+     *
+     * @param possible the possible plaintext letters of each cipher letter
+     * @return the key, in the same form as the keys of Part2a.encrypt
+     */
+    private static String toKey(int[] possible) {
+        char[] key = new char[ALPHABET_SIZE];
+        boolean[] usedCipherLetters = new boolean[ALPHABET_SIZE];
+
+        for (int c = 0; c < ALPHABET_SIZE; ++c) {
+            if (Integer.bitCount(possible[c]) == 1) {
+                key[Integer.numberOfTrailingZeros(possible[c])] = ALPHABET.charAt(c);
+                usedCipherLetters[c] = true;
+            }
+        }
+
+        int nextCipherLetter = 0;
+
+        for (int p = 0; p < ALPHABET_SIZE; ++p) {
+            if (key[p] != 0)
+                continue;
+
+            while (usedCipherLetters[nextCipherLetter])
+                ++nextCipherLetter;
+
+            key[p] = ALPHABET.charAt(nextCipherLetter);
+            usedCipherLetters[nextCipherLetter] = true;
+        }
+
+        return new String(key);
+    }
+}
@@ -0,0 +1,497 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: A compact prefix tree of the dictionary words, used to split a message without spaces into words.
+ */
+public class WordTrie {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the most one-letter words allowed in a row before a sentence is considered invalid
+    private static final int MAX_ONE_LETTER_WORDS = 3;
+    // the index of the root node
+    public static final int ROOT = 0;
+
+    /*
+        The edges of every node are stored together in two flat arrays: the edges of node n are at the indexes
+        edgeStart[n] (inclusive) to edgeStart[n + 1] (exclusive), sorted by their letter
+     */
+    private final int[] edgeStart;
+    // the letter (0-25) of each edge
+    private final byte[] edgeLetter;
+    // the node each edge leads to
+    private final int[] edgeTarget;
+    // whether the path from the root to each node spells a dictionary word
+    private final boolean[] isWord;
+    // the length of the longest word in the trie
+    private final int maxWordLength;
+
+    private WordTrie(int[] edgeStart, byte[] edgeLetter, int[] edgeTarget, boolean[] isWord, int maxWordLength) {
+        this.edgeStart = edgeStart;
+        this.edgeLetter = edgeLetter;
+        this.edgeTarget = edgeTarget;
+        this.isWord = isWord;
+        this.maxWordLength = maxWordLength;
+    }
+
+    /**
+     * Builds a trie one word at a time. The tree is built with linked lists of children first, since we don't
+     * know how many nodes there will be, then flattened into the compact edge arrays.
+     */
+    public static class Builder {
+        private int capacity = 1024;
+        private int[] firstChild = new int[capacity];
+        private int[] nextSibling = new int[capacity];
+        private byte[] letters = new byte[capacity];
+        private boolean[] terminal = new boolean[capacity];
+        private int numOfNodes = 1;
+        private int maxWordLength = 0;
+
+        public Builder() {
+            Arrays.fill(firstChild, -1);
+            Arrays.fill(nextSibling, -1);
+        }
+
+        /**
+         * Adds a word to the trie; words containing anything other than lowercase letters are skipped.
+         *
+         * @param word the word to add
+         * @return this builder
+         */
+        public Builder add(CharSequence word) {
+            // store the length to prevent excessive method calls within the loop
+            int wordLength = word.length();
+
+            if (!isLowercase(word))
+                return this;
+
+            int node = ROOT;
+
+            for (int i = 0; i < wordLength; ++i) {
+                byte letter = (byte) (word.charAt(i) - 'a');
+                int child = firstChild[node];
+
+                // look for an existing child with this letter
+                while (child != -1 && letters[child] != letter)
+                    child = nextSibling[child];
+
+                if (child == -1) {
+                    // grow the arrays when they are full
+                    if (numOfNodes == capacity) {
+                        capacity *= 2;
+                        firstChild = Arrays.copyOf(firstChild, capacity);
+                        nextSibling = Arrays.copyOf(nextSibling, capacity);
+                        letters = Arrays.copyOf(letters, capacity);
+                        terminal = Arrays.copyOf(terminal, capacity);
+                        Arrays.fill(firstChild, numOfNodes, capacity, -1);
+                        Arrays.fill(nextSibling, numOfNodes, capacity, -1);
+                    }
+
+                    // add the new node to the front of the parent's children
+                    child = numOfNodes++;
+                    letters[child] = letter;
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                }
+
+                node = child;
+            }
+
+            terminal[node] = true;
+            maxWordLength = Math.max(maxWordLength, wordLength);
+            return this;
+        }
+
+        /**
+         * Returns the finished trie.
+         *
+         * @return the new trie
+         */
+        public WordTrie build() {
+            // flatten the linked lists into the compact edge arrays; every node except the root has one edge
+            int[] edgeStart = new int[numOfNodes + 1];
+            byte[] edgeLetter = new byte[numOfNodes - 1];
+            int[] edgeTarget = new int[numOfNodes - 1];
+            int numOfEdges = 0;
+
+            for (int node = 0; node < numOfNodes; ++node) {
+                edgeStart[node] = numOfEdges;
+
+                // children were added to the front of the list, so sort them by letter as we copy them
+                int begin = numOfEdges;
+
+                for (int child = firstChild[node]; child != -1; child = nextSibling[child]) {
+                    int j = numOfEdges++;
+
+                    // insertion sort; a node never has more than 26 children
+                    while (j > begin && edgeLetter[j - 1] > letters[child]) {
+                        edgeLetter[j] = edgeLetter[j - 1];
+                        edgeTarget[j] = edgeTarget[j - 1];
+                        --j;
+                    }
+
+                    edgeLetter[j] = letters[child];
+                    edgeTarget[j] = child;
+                }
+            }
+
+            edgeStart[numOfNodes] = numOfEdges;
+
+            return new WordTrie(edgeStart, edgeLetter, edgeTarget, Arrays.copyOf(terminal, numOfNodes),
+                    maxWordLength);
+        }
+    }
+
+    /**
+     * Builds a trie of the words; words containing anything other than lowercase letters are skipped.
+     *
+     * @param words the words to add to the trie
+     * @return the new trie
+     */
+    public static WordTrie build(Collection<String> words) {
+        Builder builder = new Builder();
+
+        for (String word : words)
+            builder.add(word);
+
+        return builder.build();
+    }
+
+    /**
+     * Checks if the text only contains lowercase letters.
+     *
+     * @param word the text to check
+     * @return true if every character is between 'a' and 'z'
+     */
+    private static boolean isLowercase(CharSequence word) {
+        for (int i = 0; i < word.length(); ++i) {
+            char c = word.charAt(i);
+
+            if (c < 'a' || c > 'z')
+                return false;
+        }
+
+        return word.length() > 0;
+    }
+
+    /**
+     * Returns the node reached by following the letter from a node.
+     *
+     * @param node the node to start from
+     * @param c the character to follow
+     * @return the next node, or -1 if no dictionary word continues with this letter
+     */
+    public int next(int node, char c) {
+        int letter = c - 'a';
+
+        if (letter < 0 || letter >= ALPHABET_SIZE)
+            return -1;
+
+        // store the end to prevent excessive array reads within the loop
+        int end = edgeStart[node + 1];
+
+        for (int edge = edgeStart[node]; edge < end; ++edge) {
+            if (edgeLetter[edge] == letter)
+                return edgeTarget[edge];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks if the path from the root to the node spells a dictionary word.
+     *
+     * @param node the node to check
+     * @return true if the node ends a word
+     */
+    public boolean isWord(int node) {
+        return isWord[node];
+    }
+
+    /**
+     * Checks if the characters are a dictionary word.
+     *
+     * @param text the text containing the word
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @return true if the characters are a dictionary word
+     */
+    public boolean contains(CharSequence text, int start, int end) {
+        int node = ROOT;
+
+        for (int i = start; i < end && node != -1; ++i)
+            node = next(node, text.charAt(i));
+
+        return node != -1 && isWord[node];
+    }
+
+    /**
+     * Checks if the String is a dictionary word.
+     *
+     * @param word the word to look up
+     * @return true if the word is in the trie
+     */
+    public boolean contains(CharSequence word) {
+        return contains(word, 0, word.length());
+    }
+
+    /**
+     * Passes every word to the action, in alphabetical order. The same reusable builder is passed each time (so no
+     * String is created per word); call toString() on it to keep a word.
+     *
+     * @param action the action to run for each word
+     */
+    public void forEachWord(Consumer<CharSequence> action) {
+        forEachWord(ROOT, new StringBuilder(maxWordLength), action);
+    }
+
+    /**
+     * Passes every word below a node to the action, in alphabetical order.
+     *
+     * @param node the node to start from
+     * @param word the letters on the path from the root to the node; restored before returning
+     * @param action the action to run for each word
+     */
+    private void forEachWord(int node, StringBuilder word, Consumer<CharSequence> action) {
+        if (isWord[node])
+            action.accept(word);
+
+        for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; ++edge) {
+            word.append((char) ('a' + edgeLetter[edge]));
+            forEachWord(edgeTarget[edge], word, action);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Returns the number of words in the trie.
+     *
+     * @return the number of words
+     */
+    public int getNumOfWords() {
+        int numOfWords = 0;
+
+        for (boolean word : isWord)
+            if (word)
+                ++numOfWords;
+
+        return numOfWords;
+    }
+
+    /**
+     * Returns the number of nodes in the trie.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return isWord.length;
+    }
+
+    /**
+     * Returns the approximate heap footprint of the trie's arrays.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        // each array has a 16-byte header
+        return 4L * edgeStart.length + edgeLetter.length + 4L * edgeTarget.length + isWord.length + 4 * 16;
+    }
+
+    /**
+     * Returns the length of the longest word in the trie.
+     *
+     * @return the length of the longest word
+     */
+    public int getMaxWordLength() {
+        return maxWordLength;
+    }
+
+    /**
+     * Decodes a message with a key one letter at a time, while checking that the letters decoded so far can still
+     * be split into words. Decoding stops at the first position that no split can get past, which for most wrong
+     * keys is only a few letters in. A message is kept exactly when segment would find a split of it.
+     *
+     * @param cipherLetters the encrypted lowercase letters, without whitespace
+     * @param inverse the plaintext letter (0-25) for each encrypted letter (0-25) of the key to decode them with
+     * @return the decoded message, or null if it cannot be split into words
+     */
+    public String decodeIfSegmentable(char[] cipherLetters, byte[] inverse) {
+
+        // store the length to prevent excessive method calls within the loops
+        int textLength = cipherLetters.length;
+
+        // an empty message has no split, the same as segment
+        if (textLength == 0)
+            return null;
+
+        char[] decoded = new char[textLength];
+        int numOfDecoded = 0;
+
+        /*
+            The states reachable at each position as a bit mask: bit k is set if a split of the letters before the
+            position ends with k one-letter words in a row (the same states as segment). Words are never longer
+            than maxWordLength, so only the positions up to that far ahead are kept, in a ring
+         */
+        int window = maxWordLength + 1;
+        byte[] reachable = new byte[window];
+        // the states which do not end in more than 3 one-letter words
+        final int allStates = (1 << (MAX_ONE_LETTER_WORDS + 1)) - 1;
+        // the furthest position any split has reached so far
+        int furthest = 0;
+
+        reachable[0] = 1;
+
+        for (int start = 0; start < textLength; ++start) {
+            int states = reachable[start % window];
+            // clear the slot for the position a whole window ahead
+            reachable[start % window] = 0;
+
+            if (states == 0) {
+                // no split reaches this position or any position after it
+                if (start > furthest)
+                    return null;
+
+                continue;
+            }
+
+            int node = ROOT;
+
+            // walk the trie from this position, decoding each letter the first time it is needed
+            for (int end = start + 1; end <= textLength; ++end) {
+                if (end > numOfDecoded)
+                    decoded[numOfDecoded++] = (char) ('a' + inverse[cipherLetters[end - 1] - 'a']);
+
+                node = next(node, decoded[end - 1]);
+
+                if (node == -1)
+                    break;
+
+                if (!isWord[node])
+                    continue;
+
+                // one-letter words continue each chain (dropping chains longer than 3); longer words reset it
+                int nextStates = end - start == 1 ? (states << 1) & allStates : 1;
+
+                if (nextStates != 0) {
+                    reachable[end % window] |= (byte) nextStates;
+                    furthest = Math.max(furthest, end);
+                }
+            }
+        }
+
+        return reachable[textLength % window] != 0 ? new String(decoded) : null;
+    }
+
+    /**
+     * Splits a message without spaces into dictionary words, choosing the split with the longest words. Every
+     * possible split is considered (instead of always taking the longest word first), so a message is only
+     * rejected if it truly cannot be split into words.
+     *
+     * @param text the message to split
+     * @return the list of words, or an empty list if the message cannot be split
+     */
+    public ArrayList<String> segment(CharSequence text) {
+
+        // store the length to prevent excessive method calls within the loops
+        int textLength = text.length();
+        // the number of states at each position: how many one-letter words in a row ended there (0 to 3)
+        final int states = MAX_ONE_LETTER_WORDS + 1;
+
+        /*
+            best[i * states + k] is the highest score of any split of the first i characters whose last k words
+            have one letter each, or -1 if there is none; the score of a split is the sum of the squares of its
+            word lengths, which favors fewer, longer words (the same idea as Functions.findMostLikelyMatch)
+         */
+        long[] best = new long[(textLength + 1) * states];
+        // the position and state that each best split came from, so that we can walk the words back
+        int[] previous = new int[(textLength + 1) * states];
+
+        Arrays.fill(best, -1);
+        best[0] = 0;
+
+        // the result is empty for an empty message, the same as Functions.formSentence
+        if (textLength == 0)
+            return new ArrayList<>();
+
+        for (int start = 0; start < textLength; ++start) {
+            // skip positions that no split can reach
+            boolean reachable = false;
+
+            for (int k = 0; k < states; ++k)
+                reachable |= best[start * states + k] >= 0;
+
+            if (!reachable)
+                continue;
+
+            int node = ROOT;
+
+            // walk the trie from this position; every word found is a possible next word of the split
+            for (int end = start + 1; end <= textLength; ++end) {
+                node = next(node, text.charAt(end - 1));
+
+                if (node == -1)
+                    break;
+
+                if (!isWord[node])
+                    continue;
+
+                int wordLength = end - start;
+
+                for (int k = 0; k < states; ++k) {
+                    long score = best[start * states + k];
+
+                    if (score < 0)
+                        continue;
+
+                    // one-letter words continue the chain; longer words reset it
+                    int nextState = wordLength == 1 ? k + 1 : 0;
+
+                    // a sentence with more than 3 consecutive one-letter words is likely not a valid sentence
+                    if (nextState > MAX_ONE_LETTER_WORDS)
+                        continue;
+
+                    long nextScore = score + (long) wordLength * wordLength;
+                    int index = end * states + nextState;
+
+                    if (nextScore > best[index]) {
+                        best[index] = nextScore;
+                        previous[index] = start * states + k;
+                    }
+                }
+            }
+        }
+
+        // find the best split of the whole message
+        int index = -1;
+
+        for (int k = 0; k < states; ++k) {
+            int candidate = textLength * states + k;
+
+            if (best[candidate] >= 0 && (index == -1 || best[candidate] > best[index]))
+                index = candidate;
+        }
+
+        ArrayList<String> words = new ArrayList<>();
+
+        if (index == -1)
+            return words;
+
+        // walk the split back from the end, then put the words in order
+        while (index >= states) {
+            int previousIndex = previous[index];
+            words.add(text.subSequence(previousIndex / states, index / states).toString());
+            index = previousIndex;
+        }
+
+        Collections.reverse(words);
+        return words;
+    }
+}
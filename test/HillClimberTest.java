@@ -0,0 +1,94 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Checks that the hill climber cracks messages of 100 letters or more encrypted with random keys. The
+ *          keys and the search are seeded, so a failure always comes back the same way.
+ */
+class HillClimberTest {
+
+    // messages of 100 to 210 letters, none of which the quadgram or word counts were taken from
+    private static final String[] MESSAGES = {
+        "it was the best of times it was the worst of times it was the age of wisdom it was the age of foolishness "
+                + "it was the epoch of belief it was the epoch of incredulity it was the season of light it was the "
+                + "season of darkness",
+        "the old bridge over the river was closed for repairs last spring so everyone in town had to drive an "
+                + "extra ten miles to reach the hospital on the other side",
+        "when the music started the children ran to the middle of the room and began to dance while their "
+                + "parents watched and laughed from the chairs along the wall",
+        "our neighbor keeps bees in the garden behind his house and every autumn he brings us a jar of dark honey "
+                + "that tastes faintly of clover and wild flowers",
+        "after dinner we walked down to the harbor and watched the fishing boats come in one by one with their "
+                + "lights shining on the calm black water",
+        "the library is quiet in the early afternoon and i like to sit near the tall windows where the light is "
+                + "good and read until the sun goes down",
+        "he forgot his umbrella at the office and by the time he reached the bus stop the rain had soaked through "
+                + "his coat and into his shoes",
+        "my brother bought an old car from a farmer in the next county and spent the whole summer fixing the "
+                + "engine in our garage with borrowed tools",
+        "the mountain road was narrow and full of sharp turns so we drove slowly and stopped often to look at the "
+                + "view of the lake far below us",
+        "at the end of the long meeting the director thanked everyone for their patience and promised that the "
+                + "new office would be ready before winter",
+        "learning a new language takes patience and practice but reading simple stories and talking with "
+                + "friends makes it much more enjoyable",
+        "the price of bread went up again this week and many families are worried about how they will pay for "
+                + "their food this winter",
+    };
+
+    // the number of random keys each message is encrypted with
+    private static final int KEYS_PER_MESSAGE = 3;
+
+    @Test
+    void cracksMessagesWithRandomKeys() throws IOException {
+        LanguageProfile language = LanguageProfile.getDefault();
+        Random keys = new Random(42);
+
+        for (int seed = 0; seed < KEYS_PER_MESSAGE; ++seed) {
+            for (String message : MESSAGES) {
+                String key = randomKey(keys);
+                String encodedMessage = Part2a.encrypt(message, key).replace(" ", "");
+                HillClimber solver = new HillClimber(language, language.getNGramTable(),
+                        HillClimber.DEFAULT_RESTARTS, new Random(seed));
+
+                String[] result = solver.decipher(encodedMessage);
+
+                assertEquals(message.replace(" ", ""), result[0].replace(" ", ""),
+                        "wrong decode with key " + key);
+            }
+        }
+    }
+
+    /**
+     * Returns a random arrangement of the alphabet.
+     *
+     * @param random the source of the arrangement
+     * @return the key
+     */
+    private static String randomKey(Random random) {
+        List<Character> letters = new ArrayList<>();
+
+        for (char letter : SubstitutionKey.ALPHABET.toCharArray())
+            letters.add(letter);
+
+        Collections.shuffle(letters, random);
+
+        StringBuilder key = new StringBuilder();
+
+        for (char letter : letters)
+            key.append(letter);
+
+        return key.toString();
+    }
+}
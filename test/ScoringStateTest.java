@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Steven Dao
+ * @version 1.0
+ *
+ * Date: 10/17/2026
+ * Purpose: Checks that the fitness kept up to date by a ScoringState matches scoring the decoded message from
+ *          scratch with the quadgram table.
+ */
+class ScoringStateTest {
+
+    // the number of letters in the alphabet
+    private static final int ALPHABET_SIZE = 26;
+    // the most the running fitness may drift from a full rescore, after adding up many swaps
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void fitnessMatchesFullRescoreAfterRandomSwaps() throws IOException {
+        NGramTable nGramTable = NGramTable.getInstance();
+        Random random = new Random(7);
+
+        // messages from shorter than one quadgram up to a few hundred letters
+        for (int messageLength : new int[] {0, 3, 4, 5, 40, 150, 400}) {
+            byte[] cipherLetters = new byte[messageLength];
+
+            for (int i = 0; i < messageLength; ++i)
+                cipherLetters[i] = (byte) random.nextInt(ALPHABET_SIZE);
+
+            byte[] decryptKey = new byte[ALPHABET_SIZE];
+
+            for (int i = 0; i < ALPHABET_SIZE; ++i)
+                decryptKey[i] = (byte) i;
+
+            ScoringState state = new ScoringState(nGramTable, cipherLetters, decryptKey);
+            double fitness = state.getFitness();
+
+            for (int swap = 0; swap < 2_000; ++swap) {
+                int a = random.nextInt(ALPHABET_SIZE);
+                int b = random.nextInt(ALPHABET_SIZE);
+
+                fitness += state.swap(a, b);
+                state.copyKeyTo(decryptKey);
+
+                double expected = fullScore(nGramTable, cipherLetters, decryptKey);
+
+                assertEquals(expected, state.getFitness(), TOLERANCE, "fitness after swap " + swap);
+                assertEquals(expected, fitness, TOLERANCE, "sum of the returned changes after swap " + swap);
+            }
+
+            // reset rescores from scratch
+            state.reset(decryptKey);
+            assertEquals(fullScore(nGramTable, cipherLetters, decryptKey), state.getFitness(), TOLERANCE);
+        }
+    }
+
+    /**
+     * Decodes a message with a key and scores the whole of it.
+     *
+     * @param nGramTable the table used to score the message
+     * @param cipherLetters the encrypted message as values 0-25
+     * @param decryptKey maps each cipher letter to a plaintext letter
+     * @return the fitness of the decoded message
+     */
+    private static double fullScore(NGramTable nGramTable, byte[] cipherLetters, byte[] decryptKey) {
+        byte[] plainLetters = new byte[cipherLetters.length];
+
+        for (int i = 0; i < cipherLetters.length; ++i)
+            plainLetters[i] = decryptKey[cipherLetters[i]];
+
+        return nGramTable.score(plainLetters, plainLetters.length);
+    }
+}